@@ -1,24 +1,53 @@
 package com.fintrack.fintrack.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-
 @Configuration
-@EnableAsync
+@EnableScheduling
 public class AsyncConfig {
 
-    @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    /**
+     * Worker threads for import jobs run by {@link com.fintrack.fintrack.service.JobWorker}.
+     * It never hands over more jobs than there are threads, so the queue here only covers
+     * the moment between a finished job freeing its slot and its thread returning to the pool.
+     */
+    @Bean(name = "jobExecutor")
+    public ThreadPoolTaskExecutor jobExecutor(@Value("${app.jobs.concurrency:10}") int concurrency) {
+        return threadPool("AsyncJob-", concurrency);
+    }
+
+    /**
+     * Sync jobs spend nearly all their time waiting on the LLM, so by default each one gets
+     * its own virtual thread. How many run at once is bounded by app.jobs.sync.max-in-flight
+     * and, for the upstream itself, by gemini.max-concurrent-requests.
+     */
+    @Bean(name = "syncJobExecutor")
+    public TaskExecutor syncJobExecutor(@Value("${app.jobs.sync.virtual-threads:true}") boolean virtualThreads,
+            @Value("${app.jobs.sync.max-in-flight:10}") int maxInFlight) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("SyncJob-");
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+
+        return threadPool("SyncJob-", maxInFlight);
+    }
+
+    private static ThreadPoolTaskExecutor threadPool(String threadNamePrefix, int size) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("AsyncJob-");
-        executor.initialize();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(size);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
         return executor;
     }
 }
@@ -0,0 +1,108 @@
+package com.fintrack.fintrack.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fintrack.fintrack.service.GeminiService;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Guards around the Gemini API. State, call and permit meters are published as the
+ * {@code resilience4j.*} meters tagged {@code name=gemini}; every circuit breaker state
+ * change also increments {@code resilience4j.circuitbreaker.transitions} tagged with the
+ * states it moved between.
+ */
+@Configuration
+public class GeminiResilienceConfig {
+    public static final String NAME = "gemini";
+
+    /**
+     * Opens when too many recent calls failed with a timeout, a connection error, 429 or
+     * 5xx. While open, calls are rejected without touching the network and the job is left
+     * for the queue to retry after its backoff.
+     */
+    @Bean
+    public CircuitBreaker geminiCircuitBreaker(MeterRegistry meterRegistry,
+            @Value("${gemini.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${gemini.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${gemini.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${gemini.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+            @Value("${gemini.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(GeminiService::isUpstreamFailure)
+                .ignoreException(e -> !GeminiService.isUpstreamFailure(e))
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(NAME);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> Counter
+                .builder("resilience4j.circuitbreaker.transitions")
+                .description("Circuit breaker state changes")
+                .tag("name", event.getCircuitBreakerName())
+                .tag("from", event.getStateTransition().getFromState().name().toLowerCase())
+                .tag("to", event.getStateTransition().getToState().name().toLowerCase())
+                .register(meterRegistry)
+                .increment());
+        return circuitBreaker;
+    }
+
+    /**
+     * Caps requests in flight to the upstream, independent of how many threads are waiting
+     * on it. Callers queue fairly for up to gemini.acquire-timeout.
+     */
+    @Bean
+    public Bulkhead geminiBulkhead(MeterRegistry meterRegistry,
+            @Value("${gemini.max-concurrent-requests:50}") int maxConcurrentRequests,
+            @Value("${gemini.acquire-timeout:PT30S}") Duration acquireTimeout) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentRequests)
+                .maxWaitDuration(acquireTimeout)
+                .fairCallHandlingStrategyEnabled(true)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(NAME);
+    }
+
+    /**
+     * Hands out gemini.rate-limit.requests permits per gemini.rate-limit.period, matching
+     * the project's requests-per-minute quota so bursts are smoothed out here instead of
+     * being answered with 429s. A caller that would wait longer than gemini.acquire-timeout
+     * for a permit is rejected straight away.
+     */
+    @Bean
+    public RateLimiter geminiRateLimiter(MeterRegistry meterRegistry,
+            @Value("${gemini.rate-limit.requests:1000}") int requests,
+            @Value("${gemini.rate-limit.period:PT1M}") Duration period,
+            @Value("${gemini.acquire-timeout:PT30S}") Duration acquireTimeout) {
+        RateLimiterRegistry registry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(requests)
+                .limitRefreshPeriod(period)
+                .timeoutDuration(acquireTimeout)
+                .build());
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(registry).bindTo(meterRegistry);
+        return registry.rateLimiter(NAME);
+    }
+}
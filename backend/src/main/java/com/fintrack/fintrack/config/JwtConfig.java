@@ -11,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import lombok.Data;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 
 @Configuration
 @Data
@@ -20,6 +21,10 @@ public class JwtConfig {
     private String secret;
     @NotNull
     private Long expirationMinutes;
+    // Recently verified tokens kept with their claims; 0 verifies every time
+    private long verifiedCacheSize = 10_000;
+    // How long a session may go without refreshing before its user has to sign in again
+    private Duration refreshExpiration = Duration.ofDays(30);
 
     @Bean
     public SecretKey jwtSigningKey() {
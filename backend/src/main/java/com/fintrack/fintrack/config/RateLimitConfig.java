@@ -0,0 +1,42 @@
+package com.fintrack.fintrack.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Per-user request limits, one token bucket per user and route. Routes are checked in the
+ * order they are configured and a request counts against the first one it matches.
+ */
+@Configuration
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitConfig {
+    private Map<String, Route> routes = new LinkedHashMap<>();
+    // Locks shared by the in-memory buckets; more means less contention between keys
+    private int stripes = 64;
+    private long maxBuckets = 100_000;
+
+    /**
+     * How long an unused bucket takes to fill up again, after which it can be dropped.
+     */
+    public Duration idleAfter() {
+        return routes.values().stream()
+                .map(route -> route.getRefill().multipliedBy(route.getCapacity()))
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+    }
+
+    @Data
+    public static class Route {
+        // Path pattern, e.g. /api/dashboard/**
+        private String pattern;
+        private int capacity;
+        private Duration refill;
+    }
+}
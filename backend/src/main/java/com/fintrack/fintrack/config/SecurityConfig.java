@@ -10,22 +10,43 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import jakarta.servlet.DispatcherType;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.fintrack.fintrack.security.JwtAuthenticationFilter;
+import com.fintrack.fintrack.security.OffloadedPasswordEncoder;
+import com.fintrack.fintrack.security.RateLimitFilter;
+import com.fintrack.fintrack.service.RequestRateLimiter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Value;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class SecurityConfig {
+    // The async dispatches of the export download, the job long-poll and the job event stream
+    private static final RequestMatcher STREAMING_COMPLETION = new AndRequestMatcher(
+            new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+            new OrRequestMatcher(
+                    PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/transactions/export"),
+                    PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/jobs/{jobId}"),
+                    PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/api/jobs/{jobId}/events")));
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final ObjectMapper objectMapper;
 
@@ -53,7 +74,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RequestRateLimiter rateLimiter,
+            RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -77,11 +99,17 @@ public class SecurityConfig {
                             objectMapper.writeValue(res.getWriter(), body);
                         }))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/register", "/api/auth/login", "/health", "/ready", "/alive",
+                        // Completion of an already-authorized streaming response
+                        .requestMatchers(STREAMING_COMPLETION).permitAll()
+                        .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/refresh",
+                                "/api/auth/logout", "/health", "/ready", "/alive",
                                 "/actuator/**")
                         .permitAll()
                         .anyRequest().authenticated())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Runs once the caller is known, and only in this chain
+                .addFilterAfter(new RateLimitFilter(rateLimiter, rateLimitConfig, objectMapper, meterRegistry),
+                        UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -91,8 +119,19 @@ public class SecurityConfig {
         return configuration.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * bcrypt at app.auth.bcrypt.strength, hashed off the request threads. Raising the
+     * strength takes effect for stored hashes as their users next sign in.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+            @Value("${app.auth.bcrypt.strength:10}") int strength,
+            @Value("${app.auth.hashing.threads:0}") int threads,
+            @Value("${app.auth.hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${app.auth.hashing.max-queue-time:PT2S}") Duration maxQueueTime,
+            @Value("${app.auth.hashing.retry-after:PT5S}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity,
+                maxQueueTime, retryAfter, meterRegistry);
     }
 }
@@ -2,14 +2,18 @@ package com.fintrack.fintrack.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import com.fintrack.fintrack.dto.userDTO.AuthResponse;
 import com.fintrack.fintrack.dto.userDTO.LoginUserRequest;
+import com.fintrack.fintrack.dto.userDTO.RefreshTokenRequest;
 import com.fintrack.fintrack.dto.userDTO.RegisterUserRequest;
 import com.fintrack.fintrack.dto.userDTO.UserResponse;
+import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.service.AuthService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -28,8 +32,27 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginUserRequest req) {
-        AuthResponse res = authService.loginUser(req);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginUserRequest req,
+            HttpServletRequest request) {
+        AuthResponse res = authService.loginUser(req, request.getRemoteAddr());
         return ResponseEntity.ok(res);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+        AuthResponse res = authService.refresh(req.getRefreshToken());
+        return ResponseEntity.ok(res);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest req) {
+        authService.logout(req.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal User user) {
+        authService.logoutAll(user);
+        return ResponseEntity.noContent().build();
+    }
 }
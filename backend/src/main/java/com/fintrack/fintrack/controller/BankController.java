@@ -11,7 +11,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 
 import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.service.BankAccountService;
-import com.fintrack.fintrack.service.TransactionService;
+import com.fintrack.fintrack.service.TransactionSyncService;
 import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
 import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
 import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
@@ -23,12 +23,12 @@ import java.util.List;
 @RequestMapping("/api/banks")
 public class BankController {
     private final BankAccountService bankService;
-    private final TransactionService transactionService;
+    private final TransactionSyncService transactionSyncService;
 
     public BankController(BankAccountService bankService,
-            TransactionService transactionService) {
+            TransactionSyncService transactionSyncService) {
         this.bankService = bankService;
-        this.transactionService = transactionService;
+        this.transactionSyncService = transactionSyncService;
     }
 
     @GetMapping("/")
@@ -47,7 +47,7 @@ public class BankController {
     @PostMapping("/{id}/sync")
     public ResponseEntity<List<TransactionResponse>> syncTransactions(@PathVariable Long id,
             @AuthenticationPrincipal User user) {
-        List<TransactionResponse> res = transactionService.syncTransactions(id, user);
+        List<TransactionResponse> res = transactionSyncService.syncTransactions(id, user);
         return ResponseEntity.ok(res);
     }
 }
@@ -1,13 +1,19 @@
 package com.fintrack.fintrack.controller;
 
 import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobStatus;
 import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.service.JobService;
+import com.fintrack.fintrack.service.JobStatusNotifier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
@@ -16,7 +22,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class JobController {
 
+    private static final int MAX_WAIT_SECONDS = 60;
+
     private final JobService jobService;
+    private final JobStatusNotifier jobStatusNotifier;
 
     @PostMapping
     public ResponseEntity<?> initiateJob(
@@ -38,7 +47,29 @@ public class JobController {
     }
 
     @GetMapping("/{jobId}")
-    public ResponseEntity<JobRequest> getJob(@PathVariable UUID jobId) {
-        return ResponseEntity.ok(jobService.getJob(jobId));
+    public ResponseEntity<JobRequest> getJob(@PathVariable UUID jobId, @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(jobService.getJob(jobId, user.getId()));
+    }
+
+    /**
+     * Long-poll: answers once the job's status differs from {@code status} (the one the
+     * client last saw), or after waitSeconds (1 to 60) with the job unchanged.
+     */
+    @GetMapping(value = "/{jobId}", params = "waitSeconds")
+    public DeferredResult<JobRequest> awaitJob(@PathVariable UUID jobId,
+            @RequestParam int waitSeconds,
+            @RequestParam(required = false) JobStatus status,
+            @AuthenticationPrincipal User user) {
+        Duration wait = Duration.ofSeconds(Math.clamp(waitSeconds, 1, MAX_WAIT_SECONDS));
+        return jobStatusNotifier.awaitChange(jobService.getJob(jobId, user.getId()), status, wait);
+    }
+
+    /**
+     * Server-sent events: a {@code status} event with the job now and after every change,
+     * ending once the job has completed or failed.
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable UUID jobId, @AuthenticationPrincipal User user) {
+        return jobStatusNotifier.subscribe(jobService.getJob(jobId, user.getId()));
     }
 }
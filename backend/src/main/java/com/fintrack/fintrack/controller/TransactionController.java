@@ -1,6 +1,8 @@
 package com.fintrack.fintrack.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,8 +10,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
+import com.fintrack.fintrack.service.JobService;
+import com.fintrack.fintrack.importer.ExportFormat;
+import com.fintrack.fintrack.service.TransactionExportService;
 import com.fintrack.fintrack.service.TransactionService;
 import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.dto.TransactionDTO.*;
@@ -21,13 +29,21 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
+import java.util.Map;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
     private final TransactionService transactionService;
+    private final JobService jobService;
+    private final TransactionExportService transactionExportService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, JobService jobService,
+            TransactionExportService transactionExportService) {
         this.transactionService = transactionService;
+        this.jobService = jobService;
+        this.transactionExportService = transactionExportService;
     }
 
     @GetMapping("/")
@@ -39,6 +55,15 @@ public class TransactionController {
         return ResponseEntity.ok(res);
     }
 
+    @GetMapping(value = "/", params = "cursor")
+    public ResponseEntity<TransactionCursorPage> getUserTransactionsAfterCursor(
+            @AuthenticationPrincipal User user,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        TransactionCursorPage res = transactionService.getAllTransactions(user, cursor, size);
+        return ResponseEntity.ok(res);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<TransactionResponse>> searchTransactions(
             @RequestParam String query,
@@ -49,6 +74,25 @@ public class TransactionController {
         return ResponseEntity.ok(res);
     }
 
+    @GetMapping(value = "/search", params = { "orderBy=relevance", "!cursor" })
+    public ResponseEntity<Page<TransactionResponse>> searchTransactionsByRelevance(
+            @RequestParam String query,
+            @AuthenticationPrincipal User user,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<TransactionResponse> res = transactionService.searchTransactionsByRelevance(query, user, pageable);
+        return ResponseEntity.ok(res);
+    }
+
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<TransactionCursorPage> searchTransactionsAfterCursor(
+            @RequestParam String query,
+            @AuthenticationPrincipal User user,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        TransactionCursorPage res = transactionService.searchTransactions(query, user, cursor, size);
+        return ResponseEntity.ok(res);
+    }
+
     @GetMapping("/filter")
     public ResponseEntity<Page<TransactionResponse>> filterTransactions(
             @ModelAttribute TransactionFilterDTO filter,
@@ -59,10 +103,48 @@ public class TransactionController {
         return ResponseEntity.ok(res);
     }
 
+    @GetMapping(value = "/filter", params = "cursor")
+    public ResponseEntity<TransactionCursorPage> filterTransactionsAfterCursor(
+            @ModelAttribute TransactionFilterDTO filter,
+            @AuthenticationPrincipal User user,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        TransactionCursorPage res = transactionService.filterTransactions(filter, user, cursor, size);
+        return ResponseEntity.ok(res);
+    }
+
     @PostMapping("/")
     public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody CreateTransactionRequest dto,
             @AuthenticationPrincipal User user) {
         TransactionResponse res = transactionService.createTransaction(dto, user);
         return new ResponseEntity<>(res, HttpStatus.CREATED);
     }
+
+    @PostMapping("/import")
+    public ResponseEntity<?> importTransactions(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam Long bankAccountId,
+            @RequestParam(required = false) String format,
+            @AuthenticationPrincipal User user) {
+        UUID jobId = jobService.initiateImportJob(idempotencyKey, bankAccountId, user.getId(), file, format);
+        return ResponseEntity.accepted().body(Map.of(
+                "jobId", jobId,
+                "status", "SUBMITTED"));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @ModelAttribute TransactionFilterDTO filter,
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal User user) {
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        Long userId = user.getId();
+        StreamingResponseBody body = out -> transactionExportService.export(filter, userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
 }
@@ -0,0 +1,16 @@
+package com.fintrack.fintrack.dto.TransactionDTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionCursorPage {
+    private List<TransactionResponse> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -3,6 +3,8 @@ package com.fintrack.fintrack.dto.TransactionDTO;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.fintrack.fintrack.model.TransactionType;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,4 +20,10 @@ public class TransactionResponse {
     private String category;
     private String bankAccount;
     private String transactionType;
+
+    // Target of constructor-expression projections, which select the enum itself
+    public TransactionResponse(Long id, BigDecimal amount, String description, LocalDate date, String category,
+            String bankAccount, TransactionType transactionType) {
+        this(id, amount, description, date, category, bankAccount, transactionType.toString());
+    }
 }
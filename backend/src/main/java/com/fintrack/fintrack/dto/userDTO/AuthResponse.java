@@ -9,5 +9,6 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private UserResponse user;
 }
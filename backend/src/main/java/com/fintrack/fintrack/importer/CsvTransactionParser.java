@@ -0,0 +1,120 @@
+package com.fintrack.fintrack.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fintrack.fintrack.exception.BadRequestException;
+import com.fintrack.fintrack.model.TransactionType;
+
+/**
+ * RFC 4180 CSV with a header row. Required columns are {@code date} (YYYY-MM-DD) and
+ * {@code amount}; {@code description}, {@code type} (INCOME/EXPENSE) and
+ * {@code category} (name) are optional. Without a type column the sign of the amount
+ * decides: negative amounts are expenses.
+ */
+public class CsvTransactionParser implements TransactionFileParser {
+
+    @Override
+    public void parse(Reader reader, Sink sink) throws IOException {
+        List<String> header = readRecord(reader);
+        if (header == null) {
+            throw new BadRequestException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        Integer dateCol = columns.get("date");
+        Integer amountCol = columns.get("amount");
+        if (dateCol == null || amountCol == null) {
+            throw new BadRequestException("CSV header must contain 'date' and 'amount' columns");
+        }
+        Integer descriptionCol = columns.get("description");
+        Integer typeCol = columns.get("type");
+        Integer categoryCol = columns.get("category");
+
+        long position = 0;
+        List<String> record;
+        while ((record = readRecord(reader)) != null) {
+            position++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                LocalDate date = LocalDate.parse(field(record, dateCol));
+                BigDecimal amount = new BigDecimal(field(record, amountCol).replace(",", ""));
+                String typeValue = field(record, typeCol);
+                TransactionType type = typeValue.isEmpty()
+                        ? (amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME)
+                        : TransactionType.valueOf(typeValue.toUpperCase(Locale.ROOT));
+                if (amount.signum() == 0) {
+                    sink.reject(position, "amount must not be zero");
+                    continue;
+                }
+                String category = field(record, categoryCol);
+                sink.accept(new ImportedTransaction(date, amount.abs(), type, field(record, descriptionCol),
+                        category.isEmpty() ? null : category));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                sink.reject(position, e.getMessage());
+            }
+        }
+    }
+
+    private static String field(List<String> record, Integer column) {
+        if (column == null || column >= record.size()) {
+            return "";
+        }
+        return record.get(column).strip();
+    }
+
+    /**
+     * Reads one record, honouring quoted fields that contain commas, doubled quotes or
+     * line breaks. Returns null at end of input.
+     */
+    private static List<String> readRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAny = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            sawAny = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!sawAny) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,33 @@
+package com.fintrack.fintrack.importer;
+
+import java.util.Locale;
+
+import com.fintrack.fintrack.exception.BadRequestException;
+
+public enum ImportFormat {
+    CSV,
+    OFX;
+
+    public TransactionFileParser parser() {
+        return switch (this) {
+            case CSV -> new CsvTransactionParser();
+            case OFX -> new OfxTransactionParser();
+        };
+    }
+
+    /**
+     * Uses the explicit format when given, otherwise the file extension.
+     */
+    public static ImportFormat resolve(String format, String filename) {
+        String value = format;
+        if (value == null || value.isBlank()) {
+            int dot = filename == null ? -1 : filename.lastIndexOf('.');
+            value = dot < 0 ? "" : filename.substring(dot + 1);
+        }
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported import format: " + value + " (expected CSV or OFX)");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.fintrack.fintrack.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fintrack.fintrack.model.TransactionType;
+
+/**
+ * One parsed statement line. {@code amount} is always positive; the direction is in
+ * {@code type}. {@code categoryName} is null when the source file carries none.
+ */
+public record ImportedTransaction(LocalDate date, BigDecimal amount, TransactionType type, String description,
+        String categoryName) {
+}
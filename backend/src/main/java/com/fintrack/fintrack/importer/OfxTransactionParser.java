@@ -0,0 +1,96 @@
+package com.fintrack.fintrack.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fintrack.fintrack.model.TransactionType;
+
+/**
+ * Pulls {@code <STMTTRN>} blocks out of OFX 1.x (SGML, unclosed leaf tags) and OFX 2.x
+ * (XML) statements with a single forward pass over the tags; the rest of the document
+ * is skipped.
+ */
+public class OfxTransactionParser implements TransactionFileParser {
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Override
+    public void parse(Reader reader, Sink sink) throws IOException {
+        Map<String, String> fields = null;
+        long position = 0;
+        String pendingTag = null;
+        StringBuilder text = new StringBuilder();
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                text.append((char) c);
+                continue;
+            }
+            if (fields != null && pendingTag != null) {
+                fields.putIfAbsent(pendingTag, text.toString().strip());
+            }
+            text.setLength(0);
+            String tag = readTag(reader);
+            pendingTag = null;
+
+            if (tag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+                position++;
+            } else if (tag.equals("/STMTTRN")) {
+                if (fields != null) {
+                    emit(fields, position, sink);
+                }
+                fields = null;
+            } else if (fields != null && !tag.startsWith("/")) {
+                pendingTag = tag;
+            }
+        }
+    }
+
+    private static String readTag(Reader reader) throws IOException {
+        StringBuilder tag = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '>') {
+            tag.append((char) c);
+        }
+        String name = tag.toString().strip();
+        int space = name.indexOf(' ');
+        return (space < 0 ? name : name.substring(0, space)).toUpperCase(Locale.ROOT);
+    }
+
+    private static void emit(Map<String, String> fields, long position, Sink sink) {
+        String posted = fields.get("DTPOSTED");
+        String amountValue = fields.get("TRNAMT");
+        if (posted == null || posted.length() < 8 || amountValue == null) {
+            sink.reject(position, "STMTTRN is missing DTPOSTED or TRNAMT");
+            return;
+        }
+        try {
+            LocalDate date = LocalDate.parse(posted.substring(0, 8), OFX_DATE);
+            BigDecimal amount = new BigDecimal(amountValue.replace(",", "."));
+            if (amount.signum() == 0) {
+                sink.reject(position, "amount must not be zero");
+                return;
+            }
+            TransactionType type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+            String description = fields.getOrDefault("NAME", fields.get("MEMO"));
+            sink.accept(new ImportedTransaction(date, amount.abs(), type, unescape(description), null));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            sink.reject(position, e.getMessage());
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+}
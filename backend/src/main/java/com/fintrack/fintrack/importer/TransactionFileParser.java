@@ -0,0 +1,22 @@
+package com.fintrack.fintrack.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a statement file front to back, handing each line to the sink as soon as it
+ * is complete so memory use does not depend on file size.
+ */
+public interface TransactionFileParser {
+
+    void parse(Reader reader, Sink sink) throws IOException;
+
+    interface Sink {
+        void accept(ImportedTransaction transaction);
+
+        /**
+         * A record that could not be parsed; {@code position} is a 1-based record number.
+         */
+        void reject(long position, String reason);
+    }
+}
@@ -15,6 +15,7 @@ public interface TransactionMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "manual", ignore = true)
     @Mapping(target = "bankAccount", ignore = true)
+    @Mapping(target = "userId", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -11,10 +11,11 @@ import org.mapstruct.Mapping;
 public interface UserMapper {
     UserResponse toUserResponse(User user);
 
-    AuthResponse toAuthResponse(User user, String token);
+    AuthResponse toAuthResponse(User user, String token, String refreshToken);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     User toEntity(RegisterUserRequest request);
 }
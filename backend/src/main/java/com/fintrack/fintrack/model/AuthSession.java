@@ -0,0 +1,58 @@
+package com.fintrack.fintrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One sign-in on one device. Its refresh token is rotated on every use, and revoking the
+ * session ends both the refresh token and the access tokens issued under it.
+ */
+@Entity
+@Table(name = "auth_sessions", indexes = {
+        @Index(name = "idx_auth_session_user", columnList = "userId"),
+        @Index(name = "idx_auth_session_revoked_at", columnList = "revokedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class AuthSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // The one refresh token that may be used next; presenting any earlier one ends the session
+    @Column(nullable = false)
+    private UUID currentTokenId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime revokedAt;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public AuthSession(Long userId, UUID currentTokenId, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.currentTokenId = currentTokenId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,9 +1,12 @@
 package com.fintrack.fintrack.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fintrack.fintrack.importer.ImportFormat;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,7 +16,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "job_requests", indexes = {
-        @Index(name = "idx_job_idempotency_key", columnList = "idempotencyKey", unique = true)
+        @Index(name = "idx_job_idempotency_key", columnList = "idempotencyKey", unique = true),
+        @Index(name = "idx_job_status_available_at", columnList = "status, availableAt"),
+        @Index(name = "idx_job_user_status", columnList = "userId, status"),
+        @Index(name = "idx_job_active_sync_account", columnList = "activeSyncAccountId", unique = true)
 })
 @Data
 @NoArgsConstructor
@@ -32,12 +38,40 @@ public class JobRequest {
     @Column(nullable = false)
     private JobStatus status;
 
+    @Enumerated(EnumType.STRING)
+    private JobType jobType;
+
     @Column(columnDefinition = "TEXT")
     private String result;
 
     private Long bankAccountId;
     private Long userId;
 
+    // Sync jobs only: the account while the job is SUBMITTED or PROCESSING, NULL once it has
+    // finished. Being unique, it admits one unfinished sync per account across all nodes.
+    @JsonIgnore
+    private Long activeSyncAccountId;
+
+    // Import jobs only: the stored upload and how to parse it
+    @JsonIgnore
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    private ImportFormat importFormat;
+
+    // Queue bookkeeping. A SUBMITTED job runs once availableAt has passed; a PROCESSING job whose
+    // lease has expired belonged to a worker that died and may be claimed again.
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int attempts;
+
+    private LocalDateTime availableAt;
+
+    @JsonIgnore
+    private String leaseOwner;
+
+    private LocalDateTime leaseExpiresAt;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -47,9 +81,16 @@ public class JobRequest {
     private LocalDateTime updatedAt;
 
     public JobRequest(String idempotencyKey, Long bankAccountId, Long userId) {
+        this(idempotencyKey, JobType.SYNC, bankAccountId, userId);
+        this.activeSyncAccountId = bankAccountId;
+    }
+
+    public JobRequest(String idempotencyKey, JobType jobType, Long bankAccountId, Long userId) {
         this.idempotencyKey = idempotencyKey;
+        this.jobType = jobType;
         this.bankAccountId = bankAccountId;
         this.userId = userId;
         this.status = JobStatus.SUBMITTED;
+        this.availableAt = LocalDateTime.now();
     }
 }
@@ -0,0 +1,6 @@
+package com.fintrack.fintrack.model;
+
+public enum JobType {
+    SYNC,
+    IMPORT
+}
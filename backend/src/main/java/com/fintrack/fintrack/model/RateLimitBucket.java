@@ -0,0 +1,28 @@
+package com.fintrack.fintrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rate limit bucket shared by every node, used when app.rate-limit.store is database.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+
+    @Id
+    @Column(length = 200)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private int tokens;
+
+    // Epoch milliseconds, so nodes agree on it as far as their clocks do
+    @Column(nullable = false)
+    private long refilledAt;
+}
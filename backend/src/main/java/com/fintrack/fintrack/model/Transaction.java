@@ -13,19 +13,26 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_transaction_bank_account", columnList = "bank_account_id"),
         @Index(name = "idx_transaction_category", columnList = "category_id"),
         @Index(name = "idx_transaction_date", columnList = "date"),
-        @Index(name = "idx_transaction_type", columnList = "transactionType")
+        @Index(name = "idx_transaction_type", columnList = "transactionType"),
+        @Index(name = "idx_transaction_user_date_id", columnList = "user_id, date DESC, id DESC"),
+        @Index(name = "idx_transaction_user_category_type", columnList = "user_id, category_id, transactionType, amount"),
+        @Index(name = "idx_transaction_sync_job", columnList = "sync_job_id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Transaction {
+    public static final String ID_SEQUENCE = "transactions_seq";
+    // Ids handed out per sequence round-trip; also the pool size bulk JDBC writers must honour
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     public Transaction(BigDecimal amount, LocalDate date, String description, TransactionType transactionType,
             boolean isManual, BankAccount bankAccount) {
@@ -35,10 +42,12 @@ public class Transaction {
         this.transactionType = transactionType;
         this.isManual = isManual;
         this.bankAccount = bankAccount;
+        this.userId = bankAccount.getUser().getId();
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_id")
+    @SequenceGenerator(name = "transaction_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, scale = 2, precision = 19)
@@ -49,6 +58,10 @@ public class Transaction {
     @JoinColumn(name = "bank_account_id", nullable = false, foreignKey = @ForeignKey(name = "fk_transaction_bank_account"))
     private BankAccount bankAccount;
 
+    // Copy of bankAccount.user.id so per-user queries can skip the join to bank_accounts
+    @Column(name = "user_id")
+    private Long userId;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "category_id", nullable = false, foreignKey = @ForeignKey(name = "fk_transaction_category"))
     private Category category;
@@ -69,6 +82,12 @@ public class Transaction {
     @NotNull(message = "Transaction date is required")
     private LocalDate date;
 
+    // Rows stored by a sync job: the job and where the chunk that stored the row starts. Rows of
+    // a chunk starting at or after the account's lastSync were never checkpointed.
+    private UUID syncJobId;
+
+    private LocalDateTime syncWindowStart;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -76,4 +95,12 @@ public class Transaction {
     @LastModifiedDate
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    private void syncUserId() {
+        if (bankAccount != null) {
+            userId = bankAccount.getUser().getId();
+        }
+    }
 }
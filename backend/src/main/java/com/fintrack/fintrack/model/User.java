@@ -1,6 +1,8 @@
 package com.fintrack.fintrack.model;
 
 import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -40,6 +42,11 @@ public class User {
     @Size(min = 8, max = 100, message = "Password must be between 8 and 100 characters")
     private String password;
 
+    // Bumped to revoke every token issued so far; tokens carry the version they were issued at
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
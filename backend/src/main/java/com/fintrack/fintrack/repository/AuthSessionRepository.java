@@ -0,0 +1,42 @@
+package com.fintrack.fintrack.repository;
+
+import com.fintrack.fintrack.model.AuthSession;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AuthSessionRepository extends JpaRepository<AuthSession, UUID> {
+    boolean existsByIdAndRevokedAtIsNotNull(UUID id);
+
+    /**
+     * Moves a live session on to its next refresh token, provided {@code currentTokenId} is
+     * still the latest one. Returns 0 when it is not, or the session has ended.
+     */
+    @Modifying
+    @Query("UPDATE AuthSession s SET s.currentTokenId = :nextTokenId, s.expiresAt = :expiresAt "
+            + "WHERE s.id = :id AND s.currentTokenId = :currentTokenId "
+            + "AND s.revokedAt IS NULL AND s.expiresAt > :now")
+    int rotate(UUID id, UUID currentTokenId, UUID nextTokenId, LocalDateTime expiresAt, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AuthSession s SET s.revokedAt = :now WHERE s.id = :id AND s.revokedAt IS NULL")
+    int revoke(UUID id, LocalDateTime now);
+
+    @Query("SELECT s.id FROM AuthSession s WHERE s.revokedAt IS NOT NULL AND s.expiresAt > :now")
+    List<UUID> findRevokedIds(LocalDateTime now);
+
+    @Query("SELECT s.id FROM AuthSession s WHERE s.revokedAt >= :since AND s.expiresAt > :now")
+    List<UUID> findRevokedIdsSince(LocalDateTime since, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AuthSession s WHERE s.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
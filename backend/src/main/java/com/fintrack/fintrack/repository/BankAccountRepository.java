@@ -1,14 +1,29 @@
 package com.fintrack.fintrack.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.fintrack.fintrack.model.BankAccount;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
     boolean existsByAccountNum(String accountNum);
     List<BankAccount> findByUserId(Long userId);
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query("UPDATE BankAccount b SET b.balance = b.balance + :delta, b.updatedAt = :now "
+            + "WHERE b.id = :id AND b.balance + :delta >= 0")
+    int adjustBalance(Long id, BigDecimal delta, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BankAccount b SET b.lastSync = :lastSync, b.updatedAt = :lastSync "
+            + "WHERE b.id = :id AND b.lastSync = :expectedLastSync")
+    int updateLastSync(Long id, LocalDateTime expectedLastSync, LocalDateTime lastSync);
 }
@@ -1,13 +1,63 @@
 package com.fintrack.fintrack.repository;
 
 import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobStatus;
+import com.fintrack.fintrack.model.JobType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface JobRepository extends JpaRepository<JobRequest, UUID> {
     Optional<JobRequest> findByIdempotencyKey(String idempotencyKey);
+
+    Optional<JobRequest> findByActiveSyncAccountId(Long activeSyncAccountId);
+
+    long countByJobTypeAndStatus(JobType jobType, JobStatus status);
+
+    long countByUserIdAndJobTypeAndStatusIn(Long userId, JobType jobType, Collection<JobStatus> statuses);
+
+    /**
+     * Due jobs plus jobs whose worker lease has run out, locked with
+     * {@code FOR UPDATE SKIP LOCKED} so concurrent pollers on any node each get a disjoint set.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    // Hibernate reads a lock timeout of -2 as SKIP LOCKED
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM JobRequest j WHERE j.jobType = :jobType "
+            + "AND ((j.status = com.fintrack.fintrack.model.JobStatus.SUBMITTED AND j.availableAt <= :now) "
+            + "OR (j.status = com.fintrack.fintrack.model.JobStatus.PROCESSING AND j.leaseExpiresAt < :now)) "
+            + "ORDER BY j.availableAt")
+    List<JobRequest> findClaimable(JobType jobType, LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE JobRequest j SET j.leaseExpiresAt = :leaseExpiresAt "
+            + "WHERE j.jobId IN :jobIds AND j.leaseOwner = :leaseOwner "
+            + "AND j.status = com.fintrack.fintrack.model.JobStatus.PROCESSING")
+    int renewLeases(Collection<UUID> jobIds, String leaseOwner, LocalDateTime leaseExpiresAt);
+
+    /**
+     * Records the outcome only while the caller still holds the lease, so a worker that
+     * stalled past its lease cannot overwrite the result of the worker that took over.
+     * A finished job passes a NULL activeSyncAccountId, opening the account to the next sync.
+     */
+    @Modifying
+    @Query("UPDATE JobRequest j SET j.status = :status, j.result = :result, j.availableAt = :availableAt, "
+            + "j.activeSyncAccountId = :activeSyncAccountId, "
+            + "j.leaseOwner = NULL, j.leaseExpiresAt = NULL, j.updatedAt = :now "
+            + "WHERE j.jobId = :jobId AND j.leaseOwner = :leaseOwner")
+    int release(UUID jobId, String leaseOwner, JobStatus status, String result, LocalDateTime availableAt,
+            Long activeSyncAccountId, LocalDateTime now);
 }
@@ -0,0 +1,22 @@
+package com.fintrack.fintrack.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
+import com.fintrack.fintrack.model.Transaction;
+
+/**
+ * Specification-driven listing queries that select straight into {@link TransactionResponse},
+ * so no entities are hydrated or tracked by the persistence context.
+ */
+public interface TransactionProjectionRepository {
+
+    Page<TransactionResponse> findResponses(Specification<Transaction> spec, Pageable pageable);
+
+    List<TransactionResponse> findResponses(Specification<Transaction> spec, Sort sort, int limit);
+}
@@ -1,32 +1,57 @@
 package com.fintrack.fintrack.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
 import com.fintrack.fintrack.model.Transaction;
 
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long>,
-        JpaSpecificationExecutor<Transaction> {
+        JpaSpecificationExecutor<Transaction>, TransactionProjectionRepository {
 
-    @Override
-    @EntityGraph(attributePaths = { "category", "bankAccount" })
-    Page<Transaction> findAll(Specification<Transaction> spec, Pageable pageable);
-
-    @Query("SELECT t.category.id, SUM(t.amount) FROM Transaction t WHERE t.bankAccount.user.id = :userId GROUP BY t.category.id")
+    @Query("SELECT t.category.id, SUM(t.amount) FROM Transaction t WHERE t.userId = :userId GROUP BY t.category.id")
     List<Object[]> findTotalSpentByUserIdGroupByCategory(Long userId);
 
-    @Query("SELECT t FROM Transaction t WHERE t.bankAccount.user.id = :userId")
-    List<Transaction> findByUserId(Long userId);
-
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.bankAccount.user.id = :userId AND t.category.id = :categoryId")
+    @Query("SELECT new com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse("
+            + "t.id, t.amount, t.description, t.date, t.category.name, t.bankAccount.nickName, t.transactionType) "
+            + "FROM Transaction t WHERE t.userId = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponse> findRecentResponsesByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT year(t.date), month(t.date), t.category.id, t.transactionType, SUM(t.amount), COUNT(t) "
+            + "FROM Transaction t WHERE t.userId = :userId "
+            + "GROUP BY year(t.date), month(t.date), t.category.id, t.transactionType")
+    List<Object[]> sumByMonthCategoryAndType(Long userId);
+
+    @Query("SELECT new com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse("
+            + "t.id, t.amount, t.description, t.date, t.category.name, t.bankAccount.nickName, t.transactionType) "
+            + "FROM Transaction t WHERE t.id IN :ids")
+    List<TransactionResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT t.id, t.date, t.description FROM Transaction t WHERE t.userId = :userId")
+    List<Object[]> findSearchableByUserId(Long userId);
+
+    @Query(value = "SELECT t.id FROM transactions t "
+            + "WHERE t.user_id = :userId "
+            + "AND (lower(t.description) LIKE '%' || :query || '%' OR :query <% lower(t.description)) "
+            + "ORDER BY word_similarity(:query, lower(t.description)) DESC, t.date DESC, t.id DESC",
+            countQuery = "SELECT count(*) FROM transactions t "
+                    + "WHERE t.user_id = :userId "
+                    + "AND (lower(t.description) LIKE '%' || :query || '%' OR :query <% lower(t.description))",
+            nativeQuery = true)
+    Page<Long> searchRankedIds(Long userId, String query, Pageable pageable);
+
+    List<Transaction> findBySyncJobIdAndSyncWindowStartGreaterThanEqual(UUID syncJobId, LocalDateTime windowStart);
+
+    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId AND t.category.id = :categoryId")
     BigDecimal sumAmountByUserIdAndCategoryId(Long userId, Long categoryId);
 }
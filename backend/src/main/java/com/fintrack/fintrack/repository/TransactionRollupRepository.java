@@ -0,0 +1,45 @@
+package com.fintrack.fintrack.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.fintrack.fintrack.model.TransactionRollup;
+import com.fintrack.fintrack.model.TransactionType;
+
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, Long> {
+    @Query("SELECT r.transactionType, SUM(r.totalAmount) FROM TransactionRollup r "
+            + "WHERE r.userId = :userId GROUP BY r.transactionType")
+    List<Object[]> sumByType(Long userId);
+
+    @Query("SELECT r.monthStart, r.transactionType, SUM(r.totalAmount) FROM TransactionRollup r "
+            + "WHERE r.userId = :userId AND r.monthStart >= :fromMonth "
+            + "GROUP BY r.monthStart, r.transactionType")
+    List<Object[]> sumByMonthAndType(Long userId, LocalDate fromMonth);
+
+    @Query("SELECT c.name, c.color, SUM(r.totalAmount) FROM TransactionRollup r "
+            + "JOIN Category c ON c.id = r.categoryId "
+            + "WHERE r.userId = :userId AND r.transactionType = :transactionType "
+            + "GROUP BY c.name, c.color")
+    List<Object[]> sumByCategory(Long userId, TransactionType transactionType);
+
+    @Modifying
+    @Query("UPDATE TransactionRollup r SET r.totalAmount = r.totalAmount + :amount, "
+            + "r.transactionCount = r.transactionCount + :count "
+            + "WHERE r.userId = :userId AND r.monthStart = :monthStart "
+            + "AND r.categoryId = :categoryId AND r.transactionType = :transactionType")
+    int increment(Long userId, LocalDate monthStart, Long categoryId, TransactionType transactionType,
+            BigDecimal amount, long count);
+
+    @Modifying
+    @Query("DELETE FROM TransactionRollup r WHERE r.userId = :userId")
+    void deleteByUserId(Long userId);
+
+    @Query("SELECT DISTINCT t.userId FROM Transaction t "
+            + "WHERE NOT EXISTS (SELECT 1 FROM TransactionRollup r WHERE r.userId = t.userId)")
+    List<Long> findUserIdsMissingRollups();
+}
@@ -1,13 +1,14 @@
 package com.fintrack.fintrack.security;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -15,22 +16,35 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.service.JwtService;
+import com.fintrack.fintrack.service.SessionRevocations;
+import com.fintrack.fintrack.service.UserCache;
+
+import io.jsonwebtoken.Claims;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Authenticates bearer tokens from their claims alone. The principal is a {@link User}
+ * holding just the id and email from the verified token. The token version check against
+ * {@link UserCache} and the session check against {@link SessionRevocations} are both
+ * served from memory in the common case.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final SessionRevocations sessionRevocations;
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserCache userCache,
+            SessionRevocations sessionRevocations) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.userCache = userCache;
+        this.sessionRevocations = sessionRevocations;
     }
 
     @Override
@@ -44,20 +58,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = header.substring(7);
-        String email = jwtService.extractEmail(token);
+        Claims claims = jwtService.parseClaims(header.substring(7));
 
-        if (StringUtils.hasText(email) && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Refresh tokens are only good for /api/auth/refresh
+        if (claims != null && !jwtService.isRefreshToken(claims)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                var userDetails = userDetailsService.loadUserByUsername(email);
-                CustomUserPrincipal customPrincipal = (CustomUserPrincipal) userDetails;
-                User user = customPrincipal.getUser();
+                User user = new User();
+                user.setId(Long.parseLong(claims.getSubject()));
+                user.setEmail(claims.get("email", String.class));
+                user.setTokenVersion(jwtService.extractVersion(claims));
+                UUID sessionId = jwtService.extractSessionId(claims);
 
-                if (jwtService.isTokenValid(token, user)) {
+                if (StringUtils.hasText(user.getEmail())
+                        && userCache.isCurrent(user.getId(), user.getTokenVersion())
+                        && (sessionId == null || !sessionRevocations.isRevoked(sessionId))) {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             user,
                             null,
-                            userDetails.getAuthorities());
+                            Collections.emptyList());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
@@ -67,4 +86,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.fintrack.fintrack.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fintrack.fintrack.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs a CPU-bound encoder on its own small pool, so a burst of sign-ins occupies at most
+ * that many cores and other requests keep theirs. The queue in front of the pool is bounded,
+ * and a hash that has waited longer than the queue-time limit is dropped before it starts,
+ * since its client has likely given up by then. Both cases reach the caller as a 429.
+ * Hashing time, queue wait and queue depth are published as {@code auth.password.hash}
+ * (tagged by operation), {@code auth.password.queue.wait} and
+ * {@code auth.password.queue.depth}; dropped hashes are counted as
+ * {@code auth.password.rejected}, tagged by reason.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueNanos;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+            Duration maxQueueTime, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxQueueNanos = maxQueueTime.toNanos();
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "PasswordHash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.queueWait = meterRegistry.timer("auth.password.queue.wait");
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return offload("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return offload("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only reads the hash's parameters, so it stays on the caller's thread
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        // Cancelled rather than dropped, so callers still waiting on them are released
+        executor.shutdownNow().forEach(task -> ((Future<?>) task).cancel(false));
+    }
+
+    private <T> T offload(String operation, Supplier<T> hash) {
+        Timer hashing = meterRegistry.timer("auth.password.hash", "operation", operation);
+        long enqueued = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long waited = System.nanoTime() - enqueued;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxQueueNanos) {
+                    throw new QueueTimeExceeded();
+                }
+                return hashing.record(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject("queue_full");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof QueueTimeExceeded) {
+                throw reject("queue_timeout");
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException reject(String reason) {
+        meterRegistry.counter("auth.password.rejected", "reason", reason).increment();
+        return new TooManyRequestsException("Too many sign-ins in progress, please try again shortly", retryAfter);
+    }
+
+    private static class QueueTimeExceeded extends RuntimeException {
+        private QueueTimeExceeded() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.fintrack.fintrack.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.fintrack.config.RateLimitConfig;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.service.RequestRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limits how often each user may call the routes in app.rate-limit.routes, taking a token
+ * per request from a bucket keyed by user id and route. Other routes and unauthenticated
+ * requests pass through. A request finding its bucket empty gets a 429 with Retry-After,
+ * written here in the same shape as the API's other errors since controller advice does
+ * not see it. Rejections are counted as {@code http.rate_limit.rejected}, tagged by route.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RequestRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<LimitedRoute> routes;
+
+    public RateLimitFilter(RequestRateLimiter rateLimiter, RateLimitConfig config, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.routes = config.getRoutes().entrySet().stream()
+                .map(entry -> new LimitedRoute(entry.getKey(),
+                        PathPatternParser.defaultInstance.parse(entry.getValue().getPattern()), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        LimitedRoute route = routes.isEmpty() ? null : match(request);
+        if (route == null || authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Duration wait = rateLimiter.tryAcquire(user.getId() + ":" + route.name(),
+                route.limit().getCapacity(), route.limit().getRefill());
+        if (wait.isZero() || wait.isNegative()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("http.rate_limit.rejected", "route", route.name()).increment();
+        // Rounded up, so a client honouring Retry-After finds a token waiting
+        long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("message", "Too many requests, please slow down");
+        body.put("retryAfterSeconds", retryAfterSeconds);
+        objectMapper.writeValue(response.getWriter(), body);
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (LimitedRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private record LimitedRoute(String name, PathPattern pattern, RateLimitConfig.Route limit) {
+    }
+}
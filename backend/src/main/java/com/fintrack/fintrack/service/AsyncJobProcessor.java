@@ -1,53 +1,60 @@
 package com.fintrack.fintrack.service;
 
 import com.fintrack.fintrack.model.JobRequest;
-import com.fintrack.fintrack.model.JobStatus;
 import com.fintrack.fintrack.model.User;
-import com.fintrack.fintrack.repository.JobRepository;
 import com.fintrack.fintrack.repository.UserRepository;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
+/**
+ * Runs a claimed job on a {@link JobWorker} thread and returns its result text. Failures
+ * propagate to the worker, which decides between retrying and failing the job.
+ */
 @Service
 public class AsyncJobProcessor {
 
-    private final JobRepository jobRepository;
-    private final TransactionService transactionService;
+    private final TransactionSyncService transactionSyncService;
     private final UserRepository userRepository;
+    private final TransactionImportService transactionImportService;
 
-    public AsyncJobProcessor(JobRepository jobRepository,
-            TransactionService transactionService,
-            UserRepository userRepository) {
-        this.jobRepository = jobRepository;
-        this.transactionService = transactionService;
+    public AsyncJobProcessor(TransactionSyncService transactionSyncService,
+            UserRepository userRepository,
+            TransactionImportService transactionImportService) {
+        this.transactionSyncService = transactionSyncService;
         this.userRepository = userRepository;
+        this.transactionImportService = transactionImportService;
     }
 
-    @Async("taskExecutor")
-    public void processSyncJob(UUID jobId) {
-        JobRequest job = jobRepository.findById(jobId).orElse(null);
-        if (job == null)
-            return;
+    public String process(JobRequest job) throws IOException {
+        User user = userRepository.findById(job.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        return switch (job.getJobType()) {
+            case SYNC -> {
+                var syncedTransactions = transactionSyncService.syncTransactions(job.getBankAccountId(), user,
+                        job.getJobId());
+                yield "Successfully synced " + syncedTransactions.size() + " transactions.";
+            }
+            case IMPORT -> transactionImportService
+                    .importFile(Path.of(job.getFilePath()), job.getImportFormat(), job.getBankAccountId(), user)
+                    .summary();
+        };
+    }
 
+    /**
+     * Drops anything the job kept on disk once it will not run again.
+     */
+    public void cleanUp(JobRequest job) {
+        if (job.getFilePath() == null) {
+            return;
+        }
         try {
-            job.setStatus(JobStatus.PROCESSING);
-
-            jobRepository.save(job);
-            User user = userRepository.findById(job.getUserId())
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-            var syncedTransactions = transactionService.syncTransactions(job.getBankAccountId(), user);
-
-            job.setStatus(JobStatus.COMPLETED);
-            job.setResult("Successfully synced " + syncedTransactions.size() + " transactions.");
-            jobRepository.save(job);
-
-        } catch (Exception e) {
-            job.setStatus(JobStatus.FAILED);
-            job.setResult("Job failed: " + e.getMessage());
-            jobRepository.save(job);
+            Files.deleteIfExists(Path.of(job.getFilePath()));
+        } catch (IOException ignored) {
+            // Left for the OS temp directory cleanup
         }
     }
 }
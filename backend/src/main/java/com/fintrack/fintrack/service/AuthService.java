@@ -2,21 +2,30 @@ package com.fintrack.fintrack.service;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.lang.NonNull;
+import com.fintrack.fintrack.repository.AuthSessionRepository;
 import com.fintrack.fintrack.repository.UserRepository;
 import com.fintrack.fintrack.dto.userDTO.AuthResponse;
 import com.fintrack.fintrack.dto.userDTO.LoginUserRequest;
 import com.fintrack.fintrack.dto.userDTO.RegisterUserRequest;
 import com.fintrack.fintrack.dto.userDTO.UserResponse;
 import com.fintrack.fintrack.mapper.UserMapper;
+import com.fintrack.fintrack.model.AuthSession;
 import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.security.CustomUserPrincipal;
 import com.fintrack.fintrack.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
+import io.jsonwebtoken.Claims;
 import jakarta.transaction.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
 @Service
 @Transactional
 public class AuthService {
@@ -26,40 +35,128 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserCache userCache;
+    private final LoginThrottle loginThrottle;
+    private final AuthSessionRepository authSessionRepository;
+    private final SessionRevocations sessionRevocations;
 
     public AuthService(UserRepository userRepository,
             UserMapper userMapper,
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
-            AuthenticationManager authenticationManager) {
+            AuthenticationManager authenticationManager,
+            UserCache userCache,
+            LoginThrottle loginThrottle,
+            AuthSessionRepository authSessionRepository,
+            SessionRevocations sessionRevocations) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.userCache = userCache;
+        this.loginThrottle = loginThrottle;
+        this.authSessionRepository = authSessionRepository;
+        this.sessionRevocations = sessionRevocations;
     }
 
+    // Hashing can queue, so registration and sign-in do not start a transaction that would
+    // hold a pooled connection while they wait; the repository calls open their own
+    @Transactional(Transactional.TxType.SUPPORTS)
     public UserResponse createUser(RegisterUserRequest dto) {
         User user = userMapper.toEntity(dto);
-        String encodedPassword = passwordEncoder.encode(dto.getPassword());
-        user.setPassword(encodedPassword);
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
+        String encodedPassword = passwordEncoder.encode(dto.getPassword());
+        user.setPassword(encodedPassword);
         User newUser = userRepository.save(user);
         return userMapper.toUserResponse(newUser);
     }
 
-    public AuthResponse loginUser(LoginUserRequest dto) {
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public AuthResponse loginUser(LoginUserRequest dto, String clientAddress) {
+        loginThrottle.acquire(clientAddress, dto.getEmail());
         Authentication authentication = new UsernamePasswordAuthenticationToken(dto.getEmail(), dto.getPassword());
         Authentication authenticated = authenticationManager.authenticate(authentication);
 
         CustomUserPrincipal userPrincipal = (CustomUserPrincipal) authenticated.getPrincipal();
         User user = userPrincipal.getUser();
 
-        String token = jwtService.generateToken(user);
+        Instant expiresAt = jwtService.refreshExpiresAt();
+        AuthSession session = authSessionRepository.save(
+                new AuthSession(user.getId(), UUID.randomUUID(), toLocalDateTime(expiresAt)));
+
+        return issueTokens(user, session.getId(), session.getCurrentTokenId(), expiresAt);
+    }
+
+    /**
+     * Swaps a refresh token for a new access token and the session's next refresh token,
+     * with no password check. A refresh token is good for one use: presenting one that has
+     * already been swapped means it was copied, so the session is ended.
+     */
+    @Transactional(dontRollbackOn = BadCredentialsException.class)
+    public AuthResponse refresh(String refreshToken) {
+        Claims claims = jwtService.parseClaims(refreshToken);
+        UUID sessionId = claims != null && jwtService.isRefreshToken(claims)
+                ? jwtService.extractSessionId(claims)
+                : null;
+        if (sessionId == null || claims.getId() == null) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        Long userId = Long.parseLong(claims.getSubject());
+        if (sessionRevocations.isRevoked(sessionId)
+                || !userCache.isCurrent(userId, jwtService.extractVersion(claims))) {
+            throw new BadCredentialsException("Session has ended");
+        }
+
+        UUID nextTokenId = UUID.randomUUID();
+        Instant expiresAt = jwtService.refreshExpiresAt();
+        int rotated = authSessionRepository.rotate(sessionId, UUID.fromString(claims.getId()), nextTokenId,
+                toLocalDateTime(expiresAt), LocalDateTime.now());
+        if (rotated == 0) {
+            revokeSession(sessionId);
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+
+        User user = userCache.get(userId)
+                .orElseThrow(() -> new BadCredentialsException("Session has ended"));
+        return issueTokens(user, sessionId, nextTokenId, expiresAt);
+    }
+
+    /**
+     * Ends the refresh token's session, along with the access tokens issued under it. An
+     * invalid or already ended token is ignored.
+     */
+    public void logout(String refreshToken) {
+        Claims claims = jwtService.parseClaims(refreshToken);
+        if (claims != null && jwtService.isRefreshToken(claims) && jwtService.extractSessionId(claims) != null) {
+            revokeSession(jwtService.extractSessionId(claims));
+        }
+    }
+
+    /**
+     * Revokes every token issued to the user so far, on all devices. Other nodes stop
+     * accepting them once their cached copy of the user expires.
+     */
+    public void logoutAll(User user) {
+        userRepository.incrementTokenVersion(user.getId());
+        userCache.evict(user.getId());
+    }
+
+    private void revokeSession(UUID sessionId) {
+        authSessionRepository.revoke(sessionId, LocalDateTime.now());
+        sessionRevocations.revoked(sessionId);
+    }
+
+    private AuthResponse issueTokens(User user, UUID sessionId, UUID refreshTokenId, Instant expiresAt) {
+        String token = jwtService.generateToken(user, sessionId);
+        String refreshToken = jwtService.generateRefreshToken(user, sessionId, refreshTokenId, expiresAt);
+        return userMapper.toAuthResponse(user, token, refreshToken);
+    }
 
-        return userMapper.toAuthResponse(user, token);
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
     }
 
     public User getUserByEmail(String email) {
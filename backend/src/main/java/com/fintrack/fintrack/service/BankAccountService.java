@@ -12,6 +12,7 @@ import com.fintrack.fintrack.model.BankAccount;
 import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
 import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.exception.BadRequestException;
 import com.fintrack.fintrack.exception.ResourceNotFoundException;
 import com.fintrack.fintrack.mapper.BankAccountMapper;
 import com.fintrack.fintrack.repository.BankAccountRepository;
@@ -23,11 +24,14 @@ import jakarta.transaction.Transactional;
 public class BankAccountService {
     private final BankAccountRepository bankAccountRepository;
     private final BankAccountMapper bankAccountMapper;
+    private final DashboardCache dashboardCache;
 
     public BankAccountService(BankAccountRepository bankAccountRepository,
-            BankAccountMapper bankAccountMapper) {
+            BankAccountMapper bankAccountMapper,
+            DashboardCache dashboardCache) {
         this.bankAccountRepository = bankAccountRepository;
         this.bankAccountMapper = bankAccountMapper;
+        this.dashboardCache = dashboardCache;
     }
 
     public List<BankAccountResponse> getAllBankAccountsByUserId(Long userId) {
@@ -43,6 +47,7 @@ public class BankAccountService {
         acc.setLastSync(LocalDateTime.now());
         acc.setBalance(getRandomBigDecimal(5000.0, 10000.0));
         BankAccount savedAcc = bankAccountRepository.save(acc);
+        dashboardCache.evict(user.getId());
         return bankAccountMapper.toBankAccountResponse(savedAcc);
     }
 
@@ -57,8 +62,35 @@ public class BankAccountService {
         return new BigDecimal(result).setScale(2, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Applies a balance change as a single {@code balance = balance + delta} statement, so
+     * concurrent writers to the same account serialize on the row lock instead of
+     * overwriting each other's read-modify-write. The entity passed in is not refreshed.
+     */
+    public void applyBalanceDelta(BankAccount bankAccount, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+        if (bankAccountRepository.adjustBalance(bankAccount.getId(), delta, LocalDateTime.now()) == 0) {
+            throw new BadRequestException("Insufficient balance in bank account with id: " + bankAccount.getId());
+        }
+        dashboardCache.evict(bankAccount.getUser().getId());
+    }
+
+    /**
+     * Moves lastSync forward only if it still holds the value the sync started from.
+     */
+    public boolean markSynced(BankAccount bankAccount, LocalDateTime expectedLastSync, LocalDateTime lastSync) {
+        if (bankAccountRepository.updateLastSync(bankAccount.getId(), expectedLastSync, lastSync) == 0) {
+            return false;
+        }
+        dashboardCache.evict(bankAccount.getUser().getId());
+        return true;
+    }
+
     public BankAccountResponse updateBankAccount(BankAccount bankAccount) {
         BankAccount savedAcc = bankAccountRepository.save(bankAccount);
+        dashboardCache.evict(bankAccount.getUser().getId());
         return bankAccountMapper.toBankAccountResponse(savedAcc);
     }
 
@@ -18,10 +18,13 @@ import java.util.List;
 public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final DashboardCache dashboardCache;
 
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+            DashboardCache dashboardCache) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.dashboardCache = dashboardCache;
     }
 
     public List<CategoryResponse> getAllCategoriesByUserId(User user) {
@@ -61,6 +64,9 @@ public class CategoryService {
         category.setIcon(dto.getIcon());
         category.setColor(dto.getColor());
         Category savedCategory = categoryRepository.save(category);
+        if (category.getUser() != null) {
+            dashboardCache.evict(category.getUser().getId());
+        }
         return categoryMapper.toCategoryResponse(savedCategory);
     }
 
@@ -1,6 +1,7 @@
 package com.fintrack.fintrack.service;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -9,8 +10,10 @@ import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.repository.UserRepository;
 import com.fintrack.fintrack.security.CustomUserPrincipal;
 
+import jakarta.transaction.Transactional;
+
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     public CustomUserDetailsService(UserRepository userRepository) {
@@ -24,4 +27,17 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return new CustomUserPrincipal(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Called on a successful sign-in whose stored hash is weaker than the configured bcrypt
+     * strength, with a fresh hash of the password just presented.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User updated = ((CustomUserPrincipal) user).getUser();
+        userRepository.updatePassword(updated.getId(), newPassword);
+        updated.setPassword(newPassword);
+        return user;
+    }
+}
@@ -0,0 +1,57 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintrack.fintrack.dto.dashboardDTO.DashboardResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded per-user cache of computed dashboards. Hit, miss and eviction counts
+ * are published as the {@code cache.*} meters tagged {@code cache=dashboard}.
+ */
+@Component
+public class DashboardCache {
+    private final Cache<Long, DashboardResponse> cache;
+
+    public DashboardCache(MeterRegistry meterRegistry,
+            @Value("${app.dashboard.cache.max-size:10000}") long maxSize,
+            @Value("${app.dashboard.cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    public DashboardResponse get(Long userId, Function<Long, DashboardResponse> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Drops the user's dashboard now and again once the surrounding transaction
+     * completes, so a read that races the uncommitted write cannot leave stale
+     * totals behind.
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -6,19 +6,21 @@ import com.fintrack.fintrack.dto.dashboardDTO.DashboardResponse;
 import com.fintrack.fintrack.dto.dashboardDTO.ExpenseByCategoryDTO;
 import com.fintrack.fintrack.dto.dashboardDTO.MonthlyDataDTO;
 import com.fintrack.fintrack.mapper.BankAccountMapper;
-import com.fintrack.fintrack.mapper.TransactionMapper;
-import com.fintrack.fintrack.model.Transaction;
+import com.fintrack.fintrack.model.CategoryColor;
 import com.fintrack.fintrack.model.TransactionType;
 import com.fintrack.fintrack.model.User;
 import com.fintrack.fintrack.repository.BankAccountRepository;
 import com.fintrack.fintrack.repository.TransactionRepository;
+import com.fintrack.fintrack.repository.TransactionRollupRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -28,47 +30,46 @@ public class DashboardService {
 
     private final TransactionRepository transactionRepository;
     private final BankAccountRepository bankAccountRepository;
-    private final TransactionMapper transactionMapper;
+    private final TransactionRollupRepository rollupRepository;
     private final BankAccountMapper bankAccountMapper;
+    private final DashboardCache dashboardCache;
 
     public DashboardService(TransactionRepository transactionRepository,
             BankAccountRepository bankAccountRepository,
-            TransactionMapper transactionMapper,
-            BankAccountMapper bankAccountMapper) {
+            TransactionRollupRepository rollupRepository,
+            BankAccountMapper bankAccountMapper,
+            DashboardCache dashboardCache) {
         this.transactionRepository = transactionRepository;
         this.bankAccountRepository = bankAccountRepository;
-        this.transactionMapper = transactionMapper;
+        this.rollupRepository = rollupRepository;
         this.bankAccountMapper = bankAccountMapper;
+        this.dashboardCache = dashboardCache;
     }
 
     public DashboardResponse getDashboardData(User user) {
-        List<Transaction> allTransactions = transactionRepository.findByUserId(user.getId());
-
-        BigDecimal totalIncome = allTransactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return dashboardCache.get(user.getId(), this::buildDashboard);
+    }
 
-        BigDecimal totalExpenses = allTransactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private DashboardResponse buildDashboard(Long userId) {
+        Map<TransactionType, BigDecimal> totalsByType = new EnumMap<>(TransactionType.class);
+        for (Object[] row : rollupRepository.sumByType(userId)) {
+            totalsByType.put((TransactionType) row[0], (BigDecimal) row[1]);
+        }
 
+        BigDecimal totalIncome = totalsByType.getOrDefault(TransactionType.INCOME, BigDecimal.ZERO);
+        BigDecimal totalExpenses = totalsByType.getOrDefault(TransactionType.EXPENSE, BigDecimal.ZERO);
         BigDecimal totalSavings = totalIncome.subtract(totalExpenses);
 
-        List<BankAccountResponse> accounts = bankAccountRepository.findByUserId(user.getId())
+        List<BankAccountResponse> accounts = bankAccountRepository.findByUserId(userId)
                 .stream()
                 .map(bankAccountMapper::toBankAccountResponse)
                 .collect(Collectors.toList());
 
-        List<TransactionResponse> recentTransactions = allTransactions.stream()
-                .sorted((t1, t2) -> t2.getDate().compareTo(t1.getDate()))
-                .limit(10)
-                .map(transactionMapper::toTransactionResponse)
-                .collect(Collectors.toList());
+        List<TransactionResponse> recentTransactions = transactionRepository
+                .findRecentResponsesByUserId(userId, PageRequest.of(0, 10));
 
-        List<MonthlyDataDTO> monthlyData = calculateMonthlyData(allTransactions);
-        List<ExpenseByCategoryDTO> expensesByCategory = calculateExpensesByCategory(allTransactions);
+        List<MonthlyDataDTO> monthlyData = calculateMonthlyData(userId);
+        List<ExpenseByCategoryDTO> expensesByCategory = calculateExpensesByCategory(userId);
 
         return new DashboardResponse(
                 totalIncome,
@@ -80,55 +81,41 @@ public class DashboardService {
                 expensesByCategory);
     }
 
-    private List<MonthlyDataDTO> calculateMonthlyData(List<Transaction> transactions) {
-        List<MonthlyDataDTO> monthlyData = new ArrayList<>();
+    private List<MonthlyDataDTO> calculateMonthlyData(Long userId) {
         LocalDate now = LocalDate.now();
+        LocalDate firstMonth = now.minusMonths(5).withDayOfMonth(1);
+
+        Map<LocalDate, MonthlyDataDTO> monthlyData = new LinkedHashMap<>();
         DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM");
 
         for (int i = 5; i >= 0; i--) {
             LocalDate monthDate = now.minusMonths(i);
-            LocalDate monthStart = monthDate.withDayOfMonth(1);
-            LocalDate monthEnd = monthDate.withDayOfMonth(monthDate.lengthOfMonth());
-
             String monthName = monthDate.format(monthFormatter);
+            monthlyData.put(monthDate.withDayOfMonth(1),
+                    new MonthlyDataDTO(monthName, BigDecimal.ZERO, BigDecimal.ZERO));
+        }
 
-            BigDecimal income = transactions.stream()
-                    .filter(t -> t.getTransactionType() == TransactionType.INCOME)
-                    .filter(t -> !t.getDate().isBefore(monthStart) && !t.getDate().isAfter(monthEnd))
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            BigDecimal expenses = transactions.stream()
-                    .filter(t -> t.getTransactionType() == TransactionType.EXPENSE)
-                    .filter(t -> !t.getDate().isBefore(monthStart) && !t.getDate().isAfter(monthEnd))
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            monthlyData.add(new MonthlyDataDTO(monthName, income, expenses));
+        for (Object[] row : rollupRepository.sumByMonthAndType(userId, firstMonth)) {
+            MonthlyDataDTO month = monthlyData.get((LocalDate) row[0]);
+            if (month == null) {
+                continue;
+            }
+            if (row[1] == TransactionType.INCOME) {
+                month.setIncome((BigDecimal) row[2]);
+            } else {
+                month.setExpenses((BigDecimal) row[2]);
+            }
         }
 
-        return monthlyData;
+        return new ArrayList<>(monthlyData.values());
     }
 
-    private List<ExpenseByCategoryDTO> calculateExpensesByCategory(List<Transaction> transactions) {
-        Map<String, ExpenseByCategoryDTO> categoryExpenses = new HashMap<>();
-
-        transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.EXPENSE)
-                .forEach(t -> {
-                    String categoryName = t.getCategory().getName();
-                    String color = t.getCategory().getColor().getHexCode();
-
-                    categoryExpenses.compute(categoryName, (key, existing) -> {
-                        if (existing == null) {
-                            return new ExpenseByCategoryDTO(categoryName, t.getAmount(), color);
-                        } else {
-                            existing.setAmount(existing.getAmount().add(t.getAmount()));
-                            return existing;
-                        }
-                    });
-                });
-
-        return new ArrayList<>(categoryExpenses.values());
+    private List<ExpenseByCategoryDTO> calculateExpensesByCategory(Long userId) {
+        return rollupRepository.sumByCategory(userId, TransactionType.EXPENSE).stream()
+                .map(row -> new ExpenseByCategoryDTO(
+                        (String) row[0],
+                        (BigDecimal) row[2],
+                        ((CategoryColor) row[1]).getHexCode()))
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,66 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintrack.fintrack.config.RateLimitConfig;
+import com.fintrack.fintrack.model.RateLimitBucket;
+import com.fintrack.fintrack.repository.RateLimitBucketRepository;
+import com.fintrack.fintrack.util.TokenBucket;
+
+/**
+ * Buckets kept in the rate_limit_buckets table, so a user gets the configured rate across
+ * all nodes together rather than on each. Taking a token locks the bucket's row for one
+ * short transaction; refills are timed with each node's wall clock. Rows left untouched long
+ * enough to be full again are deleted every app.rate-limit.purge-interval.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "database")
+public class DatabaseRequestRateLimiter implements RequestRateLimiter {
+    private final RateLimitBucketRepository bucketRepository;
+    private final TransactionTemplate transaction;
+    private final RateLimitConfig config;
+
+    public DatabaseRequestRateLimiter(RateLimitBucketRepository bucketRepository,
+            PlatformTransactionManager transactionManager, RateLimitConfig config) {
+        this.bucketRepository = bucketRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.config = config;
+    }
+
+    @Override
+    public Duration tryAcquire(String key, int capacity, Duration refill) {
+        try {
+            return transaction.execute(status -> take(key, capacity, refill));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the bucket first; it is there to lock now
+            return transaction.execute(status -> take(key, capacity, refill));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.purge-interval:PT10M}")
+    public void purgeIdle() {
+        bucketRepository.deleteIdleSince(System.currentTimeMillis() - config.idleAfter().toMillis());
+    }
+
+    private Duration take(String key, int capacity, Duration refill) {
+        long now = System.currentTimeMillis();
+        RateLimitBucket row = bucketRepository.findForUpdate(key).orElse(null);
+        if (row == null) {
+            bucketRepository.saveAndFlush(new RateLimitBucket(key, capacity - 1, now));
+            return Duration.ZERO;
+        }
+
+        TokenBucket bucket = new TokenBucket(row.getTokens(), row.getRefilledAt());
+        long waitMillis = bucket.take(now, capacity, refill.toMillis());
+        row.setTokens(bucket.getTokens());
+        row.setRefilledAt(bucket.getRefilledAt());
+        return Duration.ofMillis(waitMillis);
+    }
+}
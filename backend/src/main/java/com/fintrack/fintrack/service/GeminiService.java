@@ -1,19 +1,40 @@
 package com.fintrack.fintrack.service;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Client for the Gemini API. Each call passes a circuit breaker, a bulkhead and a rate
+ * limiter (see {@link com.fintrack.fintrack.config.GeminiResilienceConfig}) and has two
+ * deadlines: gemini.request-timeout for the response headers and gemini.stream-timeout
+ * for the whole streamed body. Callers on virtual threads can block here cheaply while the
+ * upstream never sees more than {@code gemini.max-concurrent-requests} requests at once.
+ */
 @Service
 public class GeminiService {
 
@@ -21,19 +42,122 @@ public class GeminiService {
     private final String apiUrl;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RateLimiter rateLimiter;
+    private final TaskScheduler scheduler;
+    private final Duration requestTimeout;
+    private final Duration streamTimeout;
 
     public GeminiService(@Value("${gemini.api.key}") String apiKey,
             @Value("${gemini.api.url}") String apiUrl,
-            ObjectMapper objectMapper) {
+            @Value("${gemini.request-timeout:PT30S}") Duration requestTimeout,
+            @Value("${gemini.stream-timeout:PT3M}") Duration streamTimeout,
+            ObjectMapper objectMapper,
+            CircuitBreaker circuitBreaker,
+            Bulkhead bulkhead,
+            RateLimiter rateLimiter,
+            TaskScheduler scheduler) {
         this.apiKey = apiKey;
         this.apiUrl = apiUrl;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
         this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.rateLimiter = rateLimiter;
+        this.scheduler = scheduler;
+        this.requestTimeout = requestTimeout;
+        this.streamTimeout = streamTimeout;
+    }
+
+    /**
+     * Calls {@code streamGenerateContent} in server-sent-event mode and hands each fragment of
+     * generated text to the handler as it arrives, so callers can start on the output before
+     * the model has finished writing it.
+     *
+     * @throws CallNotPermittedException while the circuit is open
+     * @throws io.github.resilience4j.bulkhead.BulkheadFullException if no slot frees up
+     *         within gemini.acquire-timeout
+     * @throws io.github.resilience4j.ratelimiter.RequestNotPermitted if the quota for the
+     *         current period is used up for longer than gemini.acquire-timeout
+     */
+    public void streamTransactions(String prompt, TextHandler handler) throws IOException, InterruptedException {
+        circuitBreaker.acquirePermission();
+        long start = System.nanoTime();
+        try {
+            bulkhead.acquirePermission();
+            try {
+                RateLimiter.waitForPermission(rateLimiter);
+                streamWithDeadline(prompt, handler);
+            } finally {
+                bulkhead.onComplete();
+            }
+        } catch (HandlerFailure e) {
+            // The caller's own failure says nothing about the upstream
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e.getCause();
+        } catch (Exception e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        }
+        circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Whether a failed call counts against the circuit breaker: timeouts, connection errors,
+     * 408, 429 and 5xx do; other client errors, rejections and the caller's own errors do not.
+     */
+    public static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof UpstreamStatusException status) {
+            return status.getStatusCode() == 408 || status.getStatusCode() == 429 || status.getStatusCode() >= 500;
+        }
+        return e instanceof IOException && !(e instanceof HandlerFailure);
+    }
+
+    /**
+     * The streamed body can stall after the headers have arrived, which HttpRequest's own
+     * timeout does not cover, so the calling thread is interrupted once the deadline passes.
+     */
+    private void streamWithDeadline(String prompt, TextHandler handler) throws IOException, InterruptedException {
+        Thread caller = Thread.currentThread();
+        ScheduledFuture<?> deadline = scheduler.schedule(caller::interrupt, Instant.now().plus(streamTimeout));
+        boolean expired = false;
+        try {
+            stream(prompt, handler);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            expired = disarm(deadline);
+            if (expired) {
+                HttpTimeoutException timeout = new HttpTimeoutException(
+                        "Gemini response did not complete within " + streamTimeout);
+                timeout.addSuppressed(e);
+                throw timeout;
+            }
+            throw e;
+        } finally {
+            if (!expired) {
+                disarm(deadline);
+            }
+        }
     }
 
-    public String generateTransactions(String prompt) throws IOException, InterruptedException {
+    /**
+     * Returns whether the deadline already fired, in which case the interrupt it raised is
+     * cleared so it cannot leak into whatever the thread does next.
+     */
+    private static boolean disarm(ScheduledFuture<?> deadline) {
+        if (deadline.cancel(false) || deadline.isCancelled()) {
+            return false;
+        }
+        while (!deadline.isDone()) {
+            Thread.onSpinWait();
+        }
+        Thread.interrupted();
+        return true;
+    }
+
+    private void stream(String prompt, TextHandler handler) throws IOException, InterruptedException {
         // Construct the request body
         ObjectNode rootNode = objectMapper.createObjectNode();
         ArrayNode contentsNode = rootNode.putArray("contents");
@@ -46,26 +170,81 @@ public class GeminiService {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(apiUrl + apiKey))
                 .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .timeout(requestTimeout)
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody))
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
 
-        if (response.statusCode() != 200) {
-            throw new IOException("Failed to call Gemini API: " + response.statusCode() + " - " + response.body());
-        }
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new UpstreamStatusException(response.statusCode(),
+                        lines.collect(Collectors.joining("\n")));
+            }
+
+            Iterator<String> events = lines.iterator();
+            while (events.hasNext()) {
+                String line = events.next();
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
 
-        // Parse the response to extract the text
-        JsonNode responseNode = objectMapper.readTree(response.body());
-        JsonNode candidates = responseNode.path("candidates");
-        if (candidates.isArray() && candidates.size() > 0) {
-            JsonNode content = candidates.get(0).path("content");
-            JsonNode parts = content.path("parts");
-            if (parts.isArray() && parts.size() > 0) {
-                return parts.get(0).path("text").asText();
+                // Each event is a partial GenerateContentResponse carrying the next text fragment(s)
+                JsonNode parts = objectMapper.readTree(line.substring(5))
+                        .path("candidates").path(0).path("content").path("parts");
+                for (JsonNode part : parts) {
+                    String text = part.path("text").asText("");
+                    if (!text.isEmpty()) {
+                        accept(handler, text);
+                    }
+                }
             }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void accept(TextHandler handler, String text) throws HandlerFailure {
+        try {
+            handler.accept(text);
+        } catch (IOException e) {
+            throw new HandlerFailure(e);
         }
+    }
+
+    @FunctionalInterface
+    public interface TextHandler {
+        void accept(String text) throws IOException;
+    }
+
+    /**
+     * A non-200 answer from the API.
+     */
+    public static class UpstreamStatusException extends IOException {
+        private final int statusCode;
 
-        return "";
+        public UpstreamStatusException(int statusCode, String body) {
+            super("Failed to call Gemini API: " + statusCode + " - " + body);
+            this.statusCode = statusCode;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+    }
+
+    /**
+     * Carries an exception thrown by the caller's {@link TextHandler} past the circuit breaker.
+     */
+    private static class HandlerFailure extends IOException {
+        private HandlerFailure(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
     }
 }
@@ -0,0 +1,82 @@
+package com.fintrack.fintrack.service;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fintrack.fintrack.dto.BudgetDTO.BudgetResponse;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.service.TransactionService.MockTransactionDTO;
+import com.fintrack.fintrack.service.TransactionService.SyncRequest;
+import com.fintrack.fintrack.util.JsonArrayStreamReader;
+
+/**
+ * Asks Gemini to make up the transactions and parses each JSON object out of the streamed
+ * answer as soon as it is complete.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sync.source", havingValue = "gemini", matchIfMissing = true)
+public class GeminiTransactionSource implements TransactionSource {
+    // Static ObjectMapper singleton - avoids creating new instance on each call
+    private static final ObjectMapper MAPPER;
+    static {
+        MAPPER = new ObjectMapper();
+        MAPPER.registerModule(new JavaTimeModule());
+    }
+
+    private final GeminiService geminiService;
+
+    public GeminiTransactionSource(GeminiService geminiService) {
+        this.geminiService = geminiService;
+    }
+
+    @Override
+    public void generate(SyncRequest request, Sink sink) throws IOException, InterruptedException {
+        JsonArrayStreamReader<MockTransactionDTO> reader = new JsonArrayStreamReader<>(MAPPER,
+                MockTransactionDTO.class, sink::accept);
+        geminiService.streamTransactions(prompt(request), text -> {
+            reader.feed(text);
+            sink.pause();
+        });
+        reader.finish();
+    }
+
+    private static String prompt(SyncRequest request) {
+        StringBuilder promptBuilder = new StringBuilder();
+        promptBuilder.append("Generate a JSON array of mock bank transactions for the last ")
+                .append(request.days()).append(" days (from ").append(request.lastSync()).append(" to ")
+                .append(request.until()).append("). ")
+                .append("The user has a bank account balance of ").append(request.balance()).append(". ");
+
+        promptBuilder.append("The user has the following categories available:\n");
+        for (Category category : request.categories()) {
+            promptBuilder.append(category.getId()).append(": ").append(category.getName()).append(", ");
+        }
+        promptBuilder.append("\n");
+
+        if (request.budgets().isEmpty()) {
+            promptBuilder.append(
+                    "The user has no specific budgets set. Generate realistic transactions based on the available categories and balance. ");
+        } else {
+            promptBuilder
+                    .append("The user has the following budgets per category along with how much they have spent: ");
+            for (BudgetResponse budget : request.budgets()) {
+                promptBuilder.append(budget.getCategoryName()).append(": ").append(budget.getAmount())
+                        .append(": spent-")
+                        .append(budget.getSpentAmount()).append(", ");
+            }
+            promptBuilder.append(
+                    ". Generate realistic transactions (expenses and potentially income) based on these budgets and the balance. ");
+        }
+
+        promptBuilder.append("If the date range includes the start of a month, include a salary income transaction. ")
+                .append("Each transaction object should have: 'amount' (number), 'date' (YYYY-MM-DD), 'description' (string), ")
+                .append("'type' ('INCOME' or 'EXPENSE'), and 'categoryId' (integer, referring to the ID of the category from the provided list). ")
+                .append("Output ONLY the JSON array.");
+
+        return promptBuilder.toString();
+    }
+}
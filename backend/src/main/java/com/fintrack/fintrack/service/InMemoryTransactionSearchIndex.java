@@ -0,0 +1,164 @@
+package com.fintrack.fintrack.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintrack.fintrack.model.Transaction;
+import com.fintrack.fintrack.repository.TransactionRepository;
+
+/**
+ * Trigram inverted index held per user, loaded from the database on first search
+ * and kept current as transactions are written. Scoring mirrors pg_trgm's word
+ * similarity so both engines order results the same way.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+public class InMemoryTransactionSearchIndex implements TransactionSearchIndex {
+    // pg_trgm's default word_similarity_threshold
+    private static final double MATCH_THRESHOLD = 0.6;
+
+    private final TransactionRepository transactionRepository;
+    private final Map<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    public InMemoryTransactionSearchIndex(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    public Page<Long> searchRanked(Long userId, String query, Pageable pageable) {
+        UserIndex index = indexes.computeIfAbsent(userId, this::load);
+        List<Long> ranked = index.search(query.toLowerCase(Locale.ROOT));
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, to), pageable, ranked.size());
+    }
+
+    @Override
+    public void indexAll(Long userId, Collection<Transaction> transactions) {
+        List<Document> documents = transactions.stream()
+                .map(t -> new Document(t.getId(), t.getDate(), t.getDescription()))
+                .toList();
+        afterCommit(() -> indexes.computeIfPresent(userId, (id, index) -> {
+            documents.forEach(index::add);
+            return index;
+        }));
+    }
+
+    @Override
+    public void reindex(Long userId) {
+        // Dropped rather than rebuilt; the next search reloads it from the database
+        afterCommit(() -> indexes.remove(userId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private UserIndex load(Long userId) {
+        UserIndex index = new UserIndex();
+        for (Object[] row : transactionRepository.findSearchableByUserId(userId)) {
+            index.add(new Document((Long) row[0], (LocalDate) row[1], (String) row[2]));
+        }
+        return index;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private static boolean hasIndexableWord(String query) {
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= 3) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Document(Long id, LocalDate date, String description) {
+    }
+
+    private static class UserIndex {
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        synchronized void add(Document document) {
+            String description = document.description() == null ? "" : document.description();
+            Document normalized = new Document(document.id(), document.date(), description.toLowerCase(Locale.ROOT));
+            documents.put(normalized.id(), normalized);
+            for (String gram : trigrams(description)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(normalized.id());
+            }
+        }
+
+        synchronized List<Long> search(String query) {
+            Set<String> queryGrams = trigrams(query);
+            Map<Long, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                for (Long id : postings.getOrDefault(gram, Set.of())) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+
+            // Any description containing a query word of three or more characters shares
+            // that word's inner trigrams, so the postings already hold every substring match
+            Collection<Document> candidates = hasIndexableWord(query)
+                    ? shared.keySet().stream().map(documents::get).toList()
+                    : documents.values();
+
+            List<Scored> hits = new ArrayList<>();
+            for (Document document : candidates) {
+                double score = queryGrams.isEmpty() ? 0
+                        : (double) shared.getOrDefault(document.id(), 0) / queryGrams.size();
+                boolean substring = document.description().contains(query);
+                if (substring || score >= MATCH_THRESHOLD) {
+                    hits.add(new Scored(document, score));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(Scored::score).reversed()
+                    .thenComparing(s -> s.document().date(), Comparator.reverseOrder())
+                    .thenComparing(s -> s.document().id(), Comparator.reverseOrder()));
+            return hits.stream().map(s -> s.document().id()).toList();
+        }
+    }
+
+    private record Scored(Document document, double score) {
+    }
+}
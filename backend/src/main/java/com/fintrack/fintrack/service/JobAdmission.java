@@ -0,0 +1,53 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.exception.TooManyRequestsException;
+import com.fintrack.fintrack.model.JobType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decides whether a new sync job may join the queue. It is turned away with a 429 once
+ * app.jobs.sync.max-queued syncs are already waiting across all nodes, or once the user has
+ * app.jobs.sync.max-per-user syncs waiting or running. Both limits are read from the table
+ * at submission, so concurrent submissions may overshoot them by a few; they are there to
+ * shed load, not to enforce quotas. Rejections are counted as {@code jobs.admission.rejected},
+ * tagged by type and reason.
+ */
+@Component
+public class JobAdmission {
+    private final JobQueue jobQueue;
+    private final MeterRegistry meterRegistry;
+    private final long maxQueued;
+    private final long maxPerUser;
+    private final Duration retryAfter;
+
+    public JobAdmission(JobQueue jobQueue, MeterRegistry meterRegistry,
+            @Value("${app.jobs.sync.max-queued:1000}") long maxQueued,
+            @Value("${app.jobs.sync.max-per-user:3}") long maxPerUser,
+            @Value("${app.jobs.sync.retry-after:PT30S}") Duration retryAfter) {
+        this.jobQueue = jobQueue;
+        this.meterRegistry = meterRegistry;
+        this.maxQueued = maxQueued;
+        this.maxPerUser = maxPerUser;
+        this.retryAfter = retryAfter;
+    }
+
+    public void admitSync(Long userId) {
+        if (jobQueue.unfinished(userId, JobType.SYNC) >= maxPerUser) {
+            reject("user_limit", "You already have " + maxPerUser + " syncs in progress");
+        }
+        if (jobQueue.depth(JobType.SYNC) >= maxQueued) {
+            reject("queue_full", "Too many syncs are waiting, please try again later");
+        }
+    }
+
+    private void reject(String reason, String message) {
+        meterRegistry.counter("jobs.admission.rejected", "type", "sync", "reason", reason).increment();
+        throw new TooManyRequestsException(message, retryAfter);
+    }
+}
@@ -0,0 +1,162 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobStatus;
+import com.fintrack.fintrack.model.JobType;
+import com.fintrack.fintrack.repository.JobRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+
+/**
+ * The {@code job_requests} table used as a work queue. Workers claim rows under a
+ * time-limited lease, keep it alive while they run, and release the row with the
+ * outcome. A lease that is not renewed (the worker crashed or the node went away)
+ * expires and the job becomes claimable again.
+ *
+ * <p>The backlog per type is published as the {@code jobs.queue.depth} gauge, refreshed
+ * whenever it is counted and every app.jobs.depth-refresh, and the time a job sat runnable
+ * before a worker claimed it as the {@code jobs.queue.wait} timer, both tagged by type.
+ */
+@Service
+@Transactional
+public class JobQueue {
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final JobRepository jobRepository;
+    private final Duration leaseDuration;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final Map<JobType, AtomicLong> depth = new EnumMap<>(JobType.class);
+    private final Map<JobType, Timer> waitTimers = new EnumMap<>(JobType.class);
+
+    public JobQueue(JobRepository jobRepository, MeterRegistry meterRegistry,
+            @Value("${app.jobs.lease-duration:PT2M}") Duration leaseDuration,
+            @Value("${app.jobs.retry-backoff:PT10S}") Duration retryBackoff,
+            @Value("${app.jobs.max-attempts:5}") int maxAttempts) {
+        this.jobRepository = jobRepository;
+        this.leaseDuration = leaseDuration;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+        for (JobType type : JobType.values()) {
+            String tag = type.name().toLowerCase();
+            AtomicLong queued = new AtomicLong();
+            depth.put(type, queued);
+            Gauge.builder("jobs.queue.depth", queued, AtomicLong::get)
+                    .description("Jobs waiting to be claimed, across all nodes")
+                    .tag("type", tag)
+                    .register(meterRegistry);
+            waitTimers.put(type, Timer.builder("jobs.queue.wait")
+                    .description("Time from a job becoming runnable to a worker claiming it")
+                    .tag("type", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Jobs of this type waiting to be claimed, on every node.
+     */
+    public long depth(JobType jobType) {
+        long queued = jobRepository.countByJobTypeAndStatus(jobType, JobStatus.SUBMITTED);
+        depth.get(jobType).set(queued);
+        return queued;
+    }
+
+    /**
+     * The user's jobs of this type that are waiting or running.
+     */
+    public long unfinished(Long userId, JobType jobType) {
+        return jobRepository.countByUserIdAndJobTypeAndStatusIn(userId, jobType,
+                Set.of(JobStatus.SUBMITTED, JobStatus.PROCESSING));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.depth-refresh:PT15S}")
+    public void refreshDepth() {
+        for (JobType type : JobType.values()) {
+            depth(type);
+        }
+    }
+
+    public List<JobRequest> claim(String owner, JobType jobType, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<JobRequest> jobs = jobRepository.findClaimable(jobType, now, PageRequest.ofSize(limit));
+        for (JobRequest job : jobs) {
+            if (job.getStatus() == JobStatus.SUBMITTED && job.getAvailableAt() != null) {
+                waitTimers.get(jobType).record(Duration.between(job.getAvailableAt(), now));
+            }
+            job.setStatus(JobStatus.PROCESSING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLeaseOwner(owner);
+            job.setLeaseExpiresAt(now.plus(leaseDuration));
+        }
+        return jobs;
+    }
+
+    public void renewLeases(String owner, Collection<UUID> jobIds) {
+        if (!jobIds.isEmpty()) {
+            jobRepository.renewLeases(jobIds, owner, LocalDateTime.now().plus(leaseDuration));
+        }
+    }
+
+    public boolean isExhausted(JobRequest job) {
+        return job.getAttempts() > maxAttempts;
+    }
+
+    public boolean complete(JobRequest job, String owner, String result) {
+        return release(job, owner, JobStatus.COMPLETED, result, null);
+    }
+
+    /**
+     * Puts the job back on the queue with exponential backoff, or fails it for good when
+     * the error is permanent or the attempts are used up. Returns whether it will run again.
+     */
+    public boolean fail(JobRequest job, String owner, String message, boolean retryable) {
+        if (!retryable || job.getAttempts() >= maxAttempts) {
+            release(job, owner, JobStatus.FAILED, "Job failed: " + message, null);
+            return false;
+        }
+
+        LocalDateTime retryAt = LocalDateTime.now().plus(backoff(job.getAttempts()));
+        release(job, owner, JobStatus.SUBMITTED,
+                "Attempt " + job.getAttempts() + " failed: " + message + ". Retrying at " + retryAt + ".", retryAt);
+        return true;
+    }
+
+    private boolean release(JobRequest job, String owner, JobStatus status, String result, LocalDateTime availableAt) {
+        Long activeSyncAccountId = status == JobStatus.SUBMITTED ? job.getActiveSyncAccountId() : null;
+        return jobRepository.release(job.getJobId(), owner, status, result, availableAt, activeSyncAccountId,
+                LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * retry-backoff doubled per failed attempt, capped at ten minutes, with up to 20% jitter
+     * so jobs that failed together do not all come back in the same poll.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+        if (delay.compareTo(MAX_BACKOFF) > 0) {
+            delay = MAX_BACKOFF;
+        }
+        long jitter = (long) (delay.toMillis() * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return delay.plusMillis(jitter);
+    }
+}
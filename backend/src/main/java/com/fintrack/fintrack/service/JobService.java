@@ -1,10 +1,21 @@
 package com.fintrack.fintrack.service;
 
+import com.fintrack.fintrack.exception.BadRequestException;
+import com.fintrack.fintrack.exception.ResourceNotFoundException;
+import com.fintrack.fintrack.importer.ImportFormat;
 import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobType;
+import com.fintrack.fintrack.repository.BankAccountRepository;
 import com.fintrack.fintrack.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,40 +23,132 @@ import java.util.UUID;
 public class JobService {
 
     private final JobRepository jobRepository;
-    private final AsyncJobProcessor asyncJobProcessor;
+    private final BankAccountRepository bankAccountRepository;
+    private final JobWorker jobWorker;
+    private final JobAdmission jobAdmission;
+    private final Path uploadDir;
 
-    public JobService(JobRepository jobRepository, AsyncJobProcessor asyncJobProcessor) {
+    public JobService(JobRepository jobRepository, BankAccountRepository bankAccountRepository,
+            JobWorker jobWorker, JobAdmission jobAdmission,
+            @Value("${app.jobs.upload-dir:${java.io.tmpdir}}") Path uploadDir) {
         this.jobRepository = jobRepository;
-        this.asyncJobProcessor = asyncJobProcessor;
+        this.bankAccountRepository = bankAccountRepository;
+        this.jobWorker = jobWorker;
+        this.jobAdmission = jobAdmission;
+        this.uploadDir = uploadDir;
     }
 
+    /**
+     * Queues a sync, or returns the job already syncing the account: while one is SUBMITTED
+     * or PROCESSING, every further request for that account, from any node, attaches to it.
+     * Only the account's owner can claim or join its sync; anyone else gets a 404.
+     */
     public UUID initiateSyncJob(String idempotencyKey, Long bankAccountId, Long userId) {
-        // 1. Check if job exists
+        // 1. Make sure the account is the caller's before it can be tied to a job
+        if (!bankAccountRepository.existsByIdAndUserId(bankAccountId, userId)) {
+            throw new ResourceNotFoundException("Bank account not found with id: " + bankAccountId);
+        }
+
+        // 2. Check if job exists
         Optional<JobRequest> existingJob = jobRepository.findByIdempotencyKey(idempotencyKey);
         if (existingJob.isPresent()) {
             return existingJob.get().getJobId();
         }
 
-        // 2. Try to create new job
+        // 3. Join the account's unfinished sync rather than run a second one
+        Optional<UUID> activeJob = activeSync(bankAccountId);
+        if (activeJob.isPresent()) {
+            return activeJob.get();
+        }
+
+        // 4. Shed load before adding to the queue; retries and joins got through above
+        jobAdmission.admitSync(userId);
+
+        // 5. Try to create new job
         try {
             JobRequest newJob = new JobRequest(idempotencyKey, bankAccountId, userId);
             newJob = jobRepository.save(newJob);
 
-            // 3. Trigger Async Processing
-            asyncJobProcessor.processSyncJob(newJob.getJobId());
+            // 6. Nudge the local worker; any node polling the queue may pick it up
+            jobWorker.wakeUp();
 
             return newJob.getJobId();
         } catch (DataIntegrityViolationException e) {
-            // Race condition: another thread inserted the key just now
+            // Race condition: another request inserted the key, or a sync for the account, just now
             return jobRepository.findByIdempotencyKey(idempotencyKey)
                     .map(JobRequest::getJobId)
+                    .or(() -> activeSync(bankAccountId))
                     .orElseThrow(() -> new IllegalStateException(
                             "Job should exist but not found after constraint violation"));
         }
     }
 
-    public JobRequest getJob(UUID jobId) {
+    private Optional<UUID> activeSync(Long bankAccountId) {
+        return jobRepository.findByActiveSyncAccountId(bankAccountId).map(JobRequest::getJobId);
+    }
+
+    /**
+     * Copies the upload into the upload directory (the multipart part is gone once the
+     * request ends) and queues it for import. The worker deletes the copy once the job has
+     * finished for good. With several nodes the directory has to be shared storage, since
+     * any node may claim the job. Only the account's owner can import into it; anyone else
+     * gets a 404 before the upload is stored.
+     */
+    public UUID initiateImportJob(String idempotencyKey, Long bankAccountId, Long userId, MultipartFile file,
+            String format) {
+        if (!bankAccountRepository.existsByIdAndUserId(bankAccountId, userId)) {
+            throw new ResourceNotFoundException("Bank account not found with id: " + bankAccountId);
+        }
+        Optional<JobRequest> existingJob = jobRepository.findByIdempotencyKey(idempotencyKey);
+        if (existingJob.isPresent()) {
+            return existingJob.get().getJobId();
+        }
+        if (file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+
+        Path copy = null;
+        try {
+            Files.createDirectories(uploadDir);
+            copy = Files.createTempFile(uploadDir, "fintrack-import-", "." + importFormat.name().toLowerCase());
+            file.transferTo(copy);
+
+            JobRequest newJob = new JobRequest(idempotencyKey, JobType.IMPORT, bankAccountId, userId);
+            newJob.setFilePath(copy.toAbsolutePath().toString());
+            newJob.setImportFormat(importFormat);
+            newJob = jobRepository.save(newJob);
+            jobWorker.wakeUp();
+            return newJob.getJobId();
+        } catch (IOException e) {
+            deleteQuietly(copy);
+            throw new UncheckedIOException("Failed to store import file", e);
+        } catch (DataIntegrityViolationException e) {
+            deleteQuietly(copy);
+            return jobRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(JobRequest::getJobId)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Job should exist but not found after constraint violation"));
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Left for the OS temp directory cleanup
+        }
+    }
+
+    /**
+     * Looks up one of the user's jobs; someone else's job is reported as not found.
+     */
+    public JobRequest getJob(UUID jobId, Long userId) {
         return jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job not found with ID: " + jobId));
+                .filter(job -> userId.equals(job.getUserId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with ID: " + jobId));
     }
 }
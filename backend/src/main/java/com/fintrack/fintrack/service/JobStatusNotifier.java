@@ -0,0 +1,202 @@
+package com.fintrack.fintrack.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobStatus;
+import com.fintrack.fintrack.repository.JobRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes job status changes to clients waiting on this node, over server-sent events or a
+ * long-poll. Waiting clients are held as async servlet requests, not threads. The worker
+ * reports each transition it makes, and a periodic sweep reloads every watched job in one
+ * query to catch transitions made by other nodes.
+ */
+@Component
+public class JobStatusNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(JobStatusNotifier.class);
+
+    private final JobRepository jobRepository;
+    private final Duration eventsTimeout;
+    private final Map<UUID, Set<Listener>> listeners = new ConcurrentHashMap<>();
+    // Sends happen off the worker's thread so a slow client cannot hold up a job
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    public JobStatusNotifier(JobRepository jobRepository,
+            @Value("${app.jobs.events.timeout:PT5M}") Duration eventsTimeout) {
+        this.jobRepository = jobRepository;
+        this.eventsTimeout = eventsTimeout;
+    }
+
+    /**
+     * Streams the job's current state and then every change, as {@code status} events, and
+     * closes the stream once the job has finished.
+     */
+    public SseEmitter subscribe(JobRequest job) {
+        SseEmitter emitter = new SseEmitter(eventsTimeout.toMillis());
+        Listener listener = new EventStream(emitter);
+        register(job.getJobId(), listener);
+        emitter.onCompletion(() -> unregister(job.getJobId(), listener));
+        emitter.onTimeout(() -> unregister(job.getJobId(), listener));
+        emitter.onError(e -> unregister(job.getJobId(), listener));
+        deliver(job, listener);
+        return emitter;
+    }
+
+    /**
+     * Answers as soon as the job's status differs from {@code knownStatus}, or with the job
+     * as it is when the wait runs out. Without a known status it waits for the next change.
+     * A finished job is returned straight away, since it will not change again.
+     */
+    public DeferredResult<JobRequest> awaitChange(JobRequest job, JobStatus knownStatus, Duration wait) {
+        DeferredResult<JobRequest> result = new DeferredResult<>(wait.toMillis());
+        Listener listener = new LongPoll(result, knownStatus != null ? knownStatus : job.getStatus());
+        register(job.getJobId(), listener);
+        result.onCompletion(() -> unregister(job.getJobId(), listener));
+        result.onTimeout(() -> result.setResult(job));
+        if (isFinished(job)) {
+            result.setResult(job);
+        } else {
+            deliver(job, listener);
+        }
+        return result;
+    }
+
+    /**
+     * Called after a job's row has changed on this node.
+     */
+    public void changed(UUID jobId) {
+        if (!listeners.containsKey(jobId)) {
+            return;
+        }
+        dispatcher.execute(() -> jobRepository.findById(jobId).ifPresent(this::publish));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.events.sweep-interval:PT2S}")
+    public void sweep() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<JobRequest> jobs = jobRepository.findAllById(List.copyOf(listeners.keySet()));
+        jobs.forEach(job -> dispatcher.execute(() -> publish(job)));
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+    }
+
+    private void publish(JobRequest job) {
+        Set<Listener> watching = listeners.get(job.getJobId());
+        if (watching != null) {
+            watching.forEach(listener -> deliver(job, listener));
+        }
+    }
+
+    private void deliver(JobRequest job, Listener listener) {
+        if (!listener.deliver(job)) {
+            unregister(job.getJobId(), listener);
+        }
+    }
+
+    private void register(UUID jobId, Listener listener) {
+        listeners.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(listener);
+    }
+
+    private void unregister(UUID jobId, Listener listener) {
+        listeners.computeIfPresent(jobId, (id, watching) -> {
+            watching.remove(listener);
+            return watching.isEmpty() ? null : watching;
+        });
+    }
+
+    private static boolean isFinished(JobRequest job) {
+        return job.getStatus() == JobStatus.COMPLETED || job.getStatus() == JobStatus.FAILED;
+    }
+
+    private interface Listener {
+        /**
+         * Returns whether the listener still wants updates.
+         */
+        boolean deliver(JobRequest job);
+    }
+
+    private static class EventStream implements Listener {
+        private final SseEmitter emitter;
+        private JobStatus lastStatus;
+        private LocalDateTime lastUpdate;
+        private boolean closed;
+
+        private EventStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public synchronized boolean deliver(JobRequest job) {
+            if (closed) {
+                return false;
+            }
+            // The worker and the sweep can both report the same change, and not always in order
+            if (lastUpdate != null && job.getUpdatedAt() != null
+                    ? !job.getUpdatedAt().isAfter(lastUpdate)
+                    : job.getStatus() == lastStatus) {
+                return true;
+            }
+            lastStatus = job.getStatus();
+            lastUpdate = job.getUpdatedAt();
+            try {
+                emitter.send(SseEmitter.event().name("status").data(job, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports it through onError/onCompletion
+                logger.debug("Dropped status stream for job {}", job.getJobId(), e);
+                closed = true;
+                return false;
+            }
+            if (isFinished(job)) {
+                emitter.complete();
+                closed = true;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private static class LongPoll implements Listener {
+        private final DeferredResult<JobRequest> result;
+        private final JobStatus knownStatus;
+
+        private LongPoll(DeferredResult<JobRequest> result, JobStatus knownStatus) {
+            this.result = result;
+            this.knownStatus = knownStatus;
+        }
+
+        @Override
+        public boolean deliver(JobRequest job) {
+            if (job.getStatus() == knownStatus) {
+                return !result.isSetOrExpired();
+            }
+            result.setResult(job);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.fintrack.fintrack.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.exception.BadRequestException;
+import com.fintrack.fintrack.exception.ResourceNotFoundException;
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobType;
+
+/**
+ * Drains the {@link JobQueue} on this node. Each job type has its own lane (executor plus
+ * in-flight limit), and each poll claims at most as many jobs as a lane has free slots, so
+ * nothing is ever queued in memory or rejected; jobs that do not fit stay in the table for
+ * the next poll or another node.
+ */
+@Component
+public class JobWorker {
+    private static final Logger logger = LoggerFactory.getLogger(JobWorker.class);
+
+    private final JobQueue jobQueue;
+    private final AsyncJobProcessor jobProcessor;
+    private final JobStatusNotifier statusNotifier;
+    private final TaskScheduler scheduler;
+    private final Map<JobType, Lane> lanes;
+    private final Map<JobType, Set<UUID>> running = new EnumMap<>(JobType.class);
+    private final String owner;
+
+    @Autowired
+    public JobWorker(JobQueue jobQueue,
+            AsyncJobProcessor jobProcessor,
+            JobStatusNotifier statusNotifier,
+            TaskScheduler scheduler,
+            @Qualifier("jobExecutor") ThreadPoolTaskExecutor importExecutor,
+            @Qualifier("syncJobExecutor") TaskExecutor syncExecutor,
+            @Value("${app.jobs.sync.max-in-flight:10}") int syncMaxInFlight) {
+        this(jobQueue, jobProcessor, statusNotifier, scheduler, Map.of(
+                JobType.IMPORT, new Lane(importExecutor, importExecutor.getMaxPoolSize()),
+                JobType.SYNC, new Lane(syncExecutor, syncMaxInFlight)));
+    }
+
+    public JobWorker(JobQueue jobQueue, AsyncJobProcessor jobProcessor, JobStatusNotifier statusNotifier,
+            TaskScheduler scheduler, Map<JobType, Lane> lanes) {
+        this.jobQueue = jobQueue;
+        this.jobProcessor = jobProcessor;
+        this.statusNotifier = statusNotifier;
+        this.scheduler = scheduler;
+        this.lanes = lanes;
+        lanes.keySet().forEach(type -> running.put(type, ConcurrentHashMap.newKeySet()));
+        this.owner = hostName() + "-" + UUID.randomUUID();
+    }
+
+    /**
+     * Polls right away instead of waiting for the next tick, for jobs submitted on this node.
+     */
+    public void wakeUp() {
+        scheduler.schedule(this::poll, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval:PT1S}")
+    public synchronized void poll() {
+        lanes.forEach(this::fill);
+    }
+
+    private void fill(JobType type, Lane lane) {
+        Set<UUID> inFlight = running.get(type);
+        int free = lane.maxInFlight() - inFlight.size();
+        if (free <= 0) {
+            return;
+        }
+
+        List<JobRequest> jobs;
+        try {
+            jobs = jobQueue.claim(owner, type, free);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to claim {} jobs", type, e);
+            return;
+        }
+        for (JobRequest job : jobs) {
+            statusNotifier.changed(job.getJobId());
+            inFlight.add(job.getJobId());
+            lane.executor().execute(() -> run(job, inFlight));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        Set<UUID> held = new HashSet<>();
+        running.values().forEach(held::addAll);
+        jobQueue.renewLeases(owner, held);
+    }
+
+    private void run(JobRequest job, Set<UUID> inFlight) {
+        try {
+            if (jobQueue.isExhausted(job)) {
+                // Its previous workers kept dying mid-run; stop handing it out
+                jobQueue.fail(job, owner, "abandoned after " + (job.getAttempts() - 1) + " attempts", false);
+                jobProcessor.cleanUp(job);
+                return;
+            }
+
+            String result;
+            try {
+                result = jobProcessor.process(job);
+            } catch (Exception e) {
+                if (!jobQueue.fail(job, owner, e.getMessage(), isRetryable(e))) {
+                    jobProcessor.cleanUp(job);
+                }
+                return;
+            }
+            if (!jobQueue.complete(job, owner, result)) {
+                logger.warn("Lease on job {} was lost before it completed", job.getJobId());
+            }
+            jobProcessor.cleanUp(job);
+        } catch (RuntimeException e) {
+            // Could not record the outcome; the lease runs out and the job is picked up again
+            logger.error("Failed to release job {}", job.getJobId(), e);
+        } finally {
+            inFlight.remove(job.getJobId());
+            statusNotifier.changed(job.getJobId());
+        }
+    }
+
+    /**
+     * Client errors (unknown account, insufficient balance, bad input) fail the same way
+     * on every attempt; anything else may be transient.
+     */
+    private static boolean isRetryable(Exception e) {
+        return !(e instanceof BadRequestException
+                || e instanceof ResourceNotFoundException
+                || e instanceof IllegalArgumentException);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+
+    /**
+     * Where one job type runs and how many of its jobs this node takes on at once.
+     */
+    public record Lane(TaskExecutor executor, int maxInFlight) {
+    }
+}
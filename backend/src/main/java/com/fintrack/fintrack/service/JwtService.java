@@ -1,30 +1,72 @@
 package com.fintrack.fintrack.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.stereotype.Service;
 
+import com.fintrack.fintrack.config.JwtConfig;
 import com.fintrack.fintrack.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
+/**
+ * Issues and verifies tokens. The parser is built once, and a token is verified once:
+ * its claims are then kept, keyed by the SHA-256 of the token, until the token expires or
+ * app.jwt.verified-cache-size newer tokens push it out, so a client repeating a token
+ * costs a hash and a map lookup rather than a signature check and a JSON parse.
+ */
 @Service
 public class JwtService {
+    public static final String VERSION_CLAIM = "ver";
+    public static final String SESSION_CLAIM = "sid";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String REFRESH_TYPE = "refresh";
+
     private final SecretKey signingKey;
     private final Long expirationMinutes;
+    private final Duration refreshExpiration;
+    private final JwtParser parser;
+    private final Cache<String, Claims> verified;
 
-    public JwtService(SecretKey signingKey, com.fintrack.fintrack.config.JwtConfig jwtConfig) {
+    public JwtService(SecretKey signingKey, JwtConfig jwtConfig) {
         this.signingKey = signingKey;
         this.expirationMinutes = jwtConfig.getExpirationMinutes();
+        this.refreshExpiration = jwtConfig.getRefreshExpiration();
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+        this.verified = Caffeine.newBuilder()
+            .maximumSize(jwtConfig.getVerifiedCacheSize())
+            .expireAfter(Expiry.creating((String fingerprint, Claims claims) ->
+                Duration.between(Instant.now(), claims.getExpiration().toInstant())))
+            .build();
     }
 
     public String generateToken(User user) {
+        return generateToken(user, null);
+    }
+
+    /**
+     * An access token for the user, tied to the session it was issued under, if any, so it
+     * stops working when that session is revoked.
+     */
+    public String generateToken(User user, UUID sessionId) {
         if (user == null || user.getId() == null) {
             throw new IllegalArgumentException("User and user ID cannot be null");
         }
@@ -35,22 +77,41 @@ public class JwtService {
         return Jwts.builder()
             .claim("sub", String.valueOf(user.getId()))
             .claim("email", user.getEmail()) 
+            .claim(VERSION_CLAIM, user.getTokenVersion())
+            .claim(SESSION_CLAIM, sessionId != null ? sessionId.toString() : null)
             .setIssuedAt(Date.from(now))
             .setExpiration(Date.from(expiration))
             .signWith(signingKey)
             .compact();
     }
 
+    /**
+     * A refresh token for the session. Its id is the session's current token id, and it
+     * expires with the session.
+     */
+    public String generateRefreshToken(User user, UUID sessionId, UUID tokenId, Instant expiresAt) {
+        return Jwts.builder()
+            .claim("sub", String.valueOf(user.getId()))
+            .claim(TYPE_CLAIM, REFRESH_TYPE)
+            .claim(SESSION_CLAIM, sessionId.toString())
+            .claim(VERSION_CLAIM, user.getTokenVersion())
+            .setId(tokenId.toString())
+            .setIssuedAt(new Date())
+            .setExpiration(Date.from(expiresAt))
+            .signWith(signingKey)
+            .compact();
+    }
+
+    public Instant refreshExpiresAt() {
+        return Instant.now().plus(refreshExpiration);
+    }
+
     public boolean isTokenValid(String token, User user) {
         if (token == null || user == null || user.getEmail() == null) {
             return false;
         }
-        try {
-            String subject = extractClaim(token, Claims::getSubject);
-            return subject.equals(String.valueOf(user.getId())) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        Claims claims = parseClaims(token);
+        return claims != null && String.valueOf(user.getId()).equals(claims.getSubject());
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> resolver) {
@@ -61,6 +122,42 @@ public class JwtService {
         return resolver.apply(claims);
     }
 
+    /**
+     * The token's claims once its signature and expiry have been checked, or null when it
+     * is not a valid token.
+     */
+    public Claims parseClaims(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            return extractAllClaims(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The user's token version when the token was issued; tokens from before versions were
+     * issued count as version 0.
+     */
+    public int extractVersion(Claims claims) {
+        Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TYPE.equals(claims.get(TYPE_CLAIM, String.class));
+    }
+
+    /**
+     * The session the token was issued under, or null for tokens issued before sessions were.
+     */
+    public UUID extractSessionId(Claims claims) {
+        String sessionId = claims.get(SESSION_CLAIM, String.class);
+        return sessionId != null ? UUID.fromString(sessionId) : null;
+    }
+
     public Long extractUserId(String token) {
         String subject = extractClaim(token, Claims::getSubject);
         return Long.parseLong(subject);
@@ -75,19 +172,32 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
+        String fingerprint = fingerprint(token);
+        Claims cached = verified.getIfPresent(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
         try {
-            return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+            // Checks the signature and the expiry
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid JWT token: " + e.getMessage(), e);
         }
+        // Tokens without an expiry are not issued here; they are verified every time
+        if (claims.getExpiration() != null) {
+            verified.put(fingerprint, claims);
+        }
+        return claims;
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = extractClaim(token, Claims::getExpiration);
-        return expiration.before(new Date());
+    private static String fingerprint(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.config.RateLimitConfig;
+import com.fintrack.fintrack.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Buckets held on this node, so each node enforces the limits on its own share of the
+ * traffic. Buckets are guarded by a fixed set of lock stripes (app.rate-limit.stripes)
+ * rather than a lock each, and dropped once they have sat unused long enough to be full.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRequestRateLimiter implements RequestRateLimiter {
+    private final Object[] stripes;
+    private final Cache<String, TokenBucket> buckets;
+
+    public LocalRequestRateLimiter(RateLimitConfig config) {
+        this.stripes = new Object[config.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxBuckets())
+                .expireAfterAccess(config.idleAfter())
+                .build();
+    }
+
+    @Override
+    public Duration tryAcquire(String key, int capacity, Duration refill) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, System.nanoTime()));
+        synchronized (stripes[Math.floorMod(key.hashCode(), stripes.length)]) {
+            return Duration.ofNanos(bucket.take(System.nanoTime(), capacity, refill.toNanos()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.exception.TooManyRequestsException;
+import com.fintrack.fintrack.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Token buckets limiting sign-in attempts per client address and per email, so that a
+ * single client or a guess at a single account cannot keep the hashing pool busy. Each
+ * bucket holds up to capacity attempts and regains one every refill interval; an attempt
+ * finding its bucket empty gets a 429 saying when the next one is due. Buckets live on the
+ * node that served the attempt and are dropped once full again and unused. Throttled
+ * attempts are counted as {@code auth.login.throttled}, tagged by which limit they hit.
+ */
+@Component
+public class LoginThrottle {
+    private final MeterRegistry meterRegistry;
+    private final Limit perAddress;
+    private final Limit perEmail;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+            @Value("${app.auth.login.per-ip.capacity:20}") int ipCapacity,
+            @Value("${app.auth.login.per-ip.refill:PT3S}") Duration ipRefill,
+            @Value("${app.auth.login.per-email.capacity:5}") int emailCapacity,
+            @Value("${app.auth.login.per-email.refill:PT1M}") Duration emailRefill) {
+        this.meterRegistry = meterRegistry;
+        this.perAddress = new Limit("ip", ipCapacity, ipRefill);
+        this.perEmail = new Limit("email", emailCapacity, emailRefill);
+    }
+
+    public void acquire(String clientAddress, String email) {
+        perAddress.acquire(clientAddress);
+        perEmail.acquire(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private class Limit {
+        private final String name;
+        private final int capacity;
+        private final long refillNanos;
+        private final Cache<String, TokenBucket> buckets;
+
+        private Limit(String name, int capacity, Duration refill) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillNanos = refill.toNanos();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(100_000)
+                    .expireAfterAccess(refill.multipliedBy(capacity))
+                    .build();
+        }
+
+        private void acquire(String key) {
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, System.nanoTime()));
+            long waitNanos;
+            synchronized (bucket) {
+                waitNanos = bucket.take(System.nanoTime(), capacity, refillNanos);
+            }
+            if (waitNanos > 0) {
+                meterRegistry.counter("auth.login.throttled", "limit", name).increment();
+                // Rounded up, so a client honouring Retry-After finds a token waiting
+                Duration retryAfter = Duration.ofSeconds(
+                        Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000));
+                throw new TooManyRequestsException("Too many sign-in attempts, please try again later", retryAfter);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.fintrack.fintrack.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.repository.TransactionRepository;
+
+/**
+ * Ranks with {@code pg_trgm} word similarity. Both the substring match and the
+ * {@code <%} operator are served by the GIN index on {@code lower(description)}
+ * created in {@code schema-postgresql.sql}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTransactionSearchIndex implements TransactionSearchIndex {
+    private final TransactionRepository transactionRepository;
+
+    public PostgresTransactionSearchIndex(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    public Page<Long> searchRanked(Long userId, String query, Pageable pageable) {
+        // The native query supplies its own ORDER BY; a pageable sort would be appended after it
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return transactionRepository.searchRankedIds(userId, query.toLowerCase(), unsorted);
+    }
+}
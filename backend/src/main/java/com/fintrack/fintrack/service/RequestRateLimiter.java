@@ -0,0 +1,17 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+
+/**
+ * Token buckets behind {@link com.fintrack.fintrack.security.RateLimitFilter}. Where they
+ * live is chosen with {@code app.rate-limit.store}: {@code local} (this node's memory, the
+ * default) or {@code database} (a shared table, so every node draws on the same bucket).
+ */
+public interface RequestRateLimiter {
+
+    /**
+     * Takes a token from the key's bucket, which starts out full. Returns zero when a token
+     * was taken, otherwise how long until the next one is due.
+     */
+    Duration tryAcquire(String key, int capacity, Duration refill);
+}
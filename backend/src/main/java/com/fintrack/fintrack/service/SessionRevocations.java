@@ -0,0 +1,121 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.repository.AuthSessionRepository;
+import com.fintrack.fintrack.util.UuidBloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Answers whether a session has been revoked without a query per request. Sessions revoked
+ * before the last rebuild are held in a Bloom filter built from the table, and ones revoked
+ * since in an exact set, fed by this node's revocations and by polling the table for other
+ * nodes'. A session the filter flags is confirmed against the table once per rebuild, so
+ * only revoked sessions and the filter's rare false positives ever cost a query. The filter
+ * is built before the first request and rebuilt every app.auth.revocations.rebuild-interval,
+ * which also drops expired sessions. Confirmations are counted as
+ * {@code auth.revocations.confirmations}; the sizes of both structures are gauges.
+ */
+@Component
+public class SessionRevocations {
+    private static final Logger logger = LoggerFactory.getLogger(SessionRevocations.class);
+    // Polls look back this much further to cover commit lag and clock drift between nodes
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final AuthSessionRepository authSessionRepository;
+    private final double falsePositiveRate;
+    private final Cache<UUID, Boolean> confirmed;
+    private final Counter confirmations;
+    // Revocations not yet in the filter, with the System.nanoTime() they were seen here
+    private final Map<UUID, Long> recent = new ConcurrentHashMap<>();
+    private volatile UuidBloomFilter snapshot = new UuidBloomFilter(0, 0.01);
+    private volatile int snapshotSize;
+    private Long lastRebuildStarted;
+    private LocalDateTime lastPolled = LocalDateTime.now();
+
+    public SessionRevocations(AuthSessionRepository authSessionRepository, MeterRegistry meterRegistry,
+            @Value("${app.auth.revocations.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.authSessionRepository = authSessionRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.confirmed = Caffeine.newBuilder().maximumSize(10_000).build();
+        this.confirmations = meterRegistry.counter("auth.revocations.confirmations");
+        Gauge.builder("auth.revocations.size", this, revocations -> revocations.snapshotSize)
+                .tag("kind", "filter").register(meterRegistry);
+        Gauge.builder("auth.revocations.size", recent, Map::size)
+                .tag("kind", "recent").register(meterRegistry);
+    }
+
+    public boolean isRevoked(UUID sessionId) {
+        if (recent.containsKey(sessionId)) {
+            return true;
+        }
+        if (!snapshot.mightContain(sessionId)) {
+            return false;
+        }
+        return confirmed.get(sessionId, id -> {
+            confirmations.increment();
+            return authSessionRepository.existsByIdAndRevokedAtIsNotNull(id);
+        });
+    }
+
+    /**
+     * Called once a session has been revoked on this node.
+     */
+    public void revoked(UUID sessionId) {
+        recent.putIfAbsent(sessionId, System.nanoTime());
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.auth.revocations.rebuild-interval:PT1H}",
+            initialDelayString = "${app.auth.revocations.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int expired = authSessionRepository.deleteExpired(now);
+        List<UUID> revokedIds = authSessionRepository.findRevokedIds(now);
+
+        UuidBloomFilter filter = new UuidBloomFilter(revokedIds.size(), falsePositiveRate);
+        revokedIds.forEach(filter::put);
+        snapshot = filter;
+        snapshotSize = revokedIds.size();
+        confirmed.invalidateAll();
+        // Anything seen before the previous rebuild started had committed long before this
+        // one read the table; newer entries may have been mid-commit, so they stay a round
+        Long previous = lastRebuildStarted;
+        if (previous != null) {
+            recent.values().removeIf(seen -> seen - previous < 0);
+        }
+        lastRebuildStarted = started;
+        logger.info("Loaded {} revoked sessions into a {} byte filter, removed {} expired sessions",
+                revokedIds.size(), filter.sizeInBytes(), expired);
+    }
+
+    /**
+     * Picks up sessions revoked on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.revocations.poll-interval:PT10S}")
+    public synchronized void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        authSessionRepository.findRevokedIdsSince(lastPolled.minus(POLL_OVERLAP), now)
+                .forEach(this::revoked);
+        lastPolled = now;
+    }
+}
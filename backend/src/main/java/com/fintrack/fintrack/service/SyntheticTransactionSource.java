@@ -0,0 +1,166 @@
+package com.fintrack.fintrack.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.dto.BudgetDTO.BudgetResponse;
+import com.fintrack.fintrack.model.BudgetPeriod;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.model.TransactionType;
+import com.fintrack.fintrack.service.TransactionService.MockTransactionDTO;
+import com.fintrack.fintrack.service.TransactionService.SyncRequest;
+
+/**
+ * Generates transactions locally instead of asking the LLM, so the sync pipeline can be
+ * load-tested and run offline. Expenses are spread over the user's categories in proportion
+ * to their budgets (categories without one share app.sync.synthetic.daily-spend), a salary
+ * arrives on the first of each month, and the balance never goes below zero. The output
+ * depends only on app.sync.synthetic.seed, the account and its lastSync, so a sync can be
+ * replayed exactly.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sync.source", havingValue = "synthetic")
+public class SyntheticTransactionSource implements TransactionSource {
+    private static final String[] MERCHANTS = {
+            "Corner Shop", "City Market", "Online Store", "Main Street", "Downtown", "Express", "Mall", "Outlet"
+    };
+
+    private final long seed;
+    private final int transactionsPerDay;
+    private final long dailySpendCents;
+    private final long monthlyIncomeCents;
+
+    public SyntheticTransactionSource(@Value("${app.sync.synthetic.seed:42}") long seed,
+            @Value("${app.sync.synthetic.transactions-per-day:5}") int transactionsPerDay,
+            @Value("${app.sync.synthetic.daily-spend:60.00}") BigDecimal dailySpend,
+            @Value("${app.sync.synthetic.monthly-income:4000.00}") BigDecimal monthlyIncome) {
+        this.seed = seed;
+        this.transactionsPerDay = transactionsPerDay;
+        this.dailySpendCents = toCents(dailySpend);
+        this.monthlyIncomeCents = toCents(monthlyIncome);
+    }
+
+    @Override
+    public void generate(SyncRequest request, Sink sink) {
+        List<Category> categories = request.categories();
+        if (categories.isEmpty()) {
+            return;
+        }
+
+        // Daily spend per category, in cents, and its running total for weighted picks
+        long[] dailyCents = dailyCentsByCategory(categories, request.budgets());
+        long[] cumulative = new long[dailyCents.length];
+        long totalDailyCents = 0;
+        for (int i = 0; i < dailyCents.length; i++) {
+            totalDailyCents += dailyCents[i];
+            cumulative[i] = totalDailyCents;
+        }
+        long meanCents = Math.max(1, totalDailyCents / transactionsPerDay);
+        long salaryCents = Math.max(monthlyIncomeCents, totalDailyCents * 33);
+
+        String[][] descriptions = descriptions(categories);
+        Long incomeCategoryId = incomeCategoryId(categories);
+        SplittableRandom random = new SplittableRandom(
+                seed ^ request.bankAccountId() * 0x9E3779B97F4A7C15L ^ request.lastSync().toLocalDate().toEpochDay());
+
+        long balanceCents = toCents(request.balance());
+        LocalDate date = request.lastSync().toLocalDate();
+        for (long day = 0; day < request.days(); day++) {
+            date = date.plusDays(1);
+            if (date.getDayOfMonth() == 1) {
+                balanceCents += salaryCents;
+                sink.accept(transaction(salaryCents, date, "Monthly salary", TransactionType.INCOME,
+                        incomeCategoryId));
+            }
+
+            for (int i = 0; i < transactionsPerDay; i++) {
+                int category = pick(cumulative, random.nextLong(totalDailyCents));
+                // Uniform between 20% and 180% of the mean keeps the expected daily total on budget
+                long amountCents = Math.max(1, meanCents / 5 + random.nextLong(meanCents * 8 / 5 + 1));
+                if (amountCents > balanceCents) {
+                    continue;
+                }
+                balanceCents -= amountCents;
+                String[] options = descriptions[category];
+                sink.accept(transaction(amountCents, date, options[random.nextInt(options.length)],
+                        TransactionType.EXPENSE, categories.get(category).getId()));
+            }
+            sink.pause();
+        }
+    }
+
+    private long[] dailyCentsByCategory(List<Category> categories, List<BudgetResponse> budgets) {
+        Map<String, Long> budgetedCents = new HashMap<>();
+        for (BudgetResponse budget : budgets) {
+            long days = budget.getPeriod() == BudgetPeriod.YEARLY ? 365 : 30;
+            budgetedCents.put(budget.getCategoryName(), toCents(budget.getAmount()) / days);
+        }
+
+        int unbudgeted = (int) categories.stream().filter(c -> !budgetedCents.containsKey(c.getName())).count();
+        long[] dailyCents = new long[categories.size()];
+        for (int i = 0; i < dailyCents.length; i++) {
+            Long budgeted = budgetedCents.get(categories.get(i).getName());
+            dailyCents[i] = Math.max(1, budgeted != null ? budgeted : dailySpendCents / unbudgeted);
+        }
+        return dailyCents;
+    }
+
+    private static String[][] descriptions(List<Category> categories) {
+        String[][] descriptions = new String[categories.size()][MERCHANTS.length];
+        for (int i = 0; i < descriptions.length; i++) {
+            for (int j = 0; j < MERCHANTS.length; j++) {
+                descriptions[i][j] = categories.get(i).getName() + " - " + MERCHANTS[j];
+            }
+        }
+        return descriptions;
+    }
+
+    /**
+     * A category that looks like it is meant for income, or null to let the sync fall back
+     * to "Other".
+     */
+    private static Long incomeCategoryId(List<Category> categories) {
+        return categories.stream()
+                .filter(c -> c.getName().equalsIgnoreCase("Salary") || c.getName().equalsIgnoreCase("Income"))
+                .map(Category::getId)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static int pick(long[] cumulative, long target) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static MockTransactionDTO transaction(long amountCents, LocalDate date, String description,
+            TransactionType type, Long categoryId) {
+        MockTransactionDTO transaction = new MockTransactionDTO();
+        transaction.setAmount(BigDecimal.valueOf(amountCents, 2));
+        transaction.setDate(date);
+        transaction.setDescription(description);
+        transaction.setType(type.name());
+        transaction.setCategoryId(categoryId);
+        return transaction;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+}
@@ -0,0 +1,201 @@
+package com.fintrack.fintrack.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionFilterDTO;
+import com.fintrack.fintrack.importer.ExportFormat;
+
+/**
+ * Streams a user's transactions straight from a forward-only JDBC cursor into the
+ * response. Rows are written as they are fetched, so neither the heap nor a
+ * persistence context grows with the size of the export.
+ */
+@Service
+public class TransactionExportService {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String[] COLUMNS = { "id", "date", "type", "amount", "description", "category",
+            "account" };
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TransactionExportService(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        // Postgres only honours the fetch size (instead of buffering the whole result) with autocommit off
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(TransactionFilterDTO filter, Long userId, ExportFormat format, OutputStream out)
+            throws IOException {
+        List<Object> args = new ArrayList<>();
+        String sql = buildQuery(filter, userId, args);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        rowWriter.start();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(sql, (RowCallbackHandler) rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rowWriter.finish();
+        writer.flush();
+    }
+
+    private static String buildQuery(TransactionFilterDTO filter, Long userId, List<Object> args) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT t.id, t.date, t.transaction_type, t.amount, t.description, c.name, b.nick_name "
+                        + "FROM transactions t "
+                        + "JOIN categories c ON c.id = t.category_id "
+                        + "JOIN bank_accounts b ON b.id = t.bank_account_id "
+                        + "WHERE t.user_id = ?");
+        args.add(userId);
+
+        if (filter.getTransactionType() != null) {
+            sql.append(" AND t.transaction_type = ?");
+            args.add(filter.getTransactionType().name());
+        }
+        if (filter.getCategoryId() != null) {
+            sql.append(" AND t.category_id = ?");
+            args.add(filter.getCategoryId());
+        }
+        if (filter.getBankAccountId() != null) {
+            sql.append(" AND t.bank_account_id = ?");
+            args.add(filter.getBankAccountId());
+        }
+        if (filter.getFromDate() != null) {
+            sql.append(" AND t.date >= ?");
+            args.add(Date.valueOf(filter.getFromDate()));
+        }
+        if (filter.getToDate() != null) {
+            sql.append(" AND t.date <= ?");
+            args.add(Date.valueOf(filter.getToDate()));
+        }
+        return sql.append(" ORDER BY t.date DESC, t.id DESC").toString();
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writer.write(rs.getDate(2).toLocalDate().toString());
+            writer.write(',');
+            writer.write(rs.getString(3));
+            writer.write(',');
+            writer.write(rs.getBigDecimal(4).toPlainString());
+            for (int column = 5; column <= 7; column++) {
+                writer.write(',');
+                writeQuoted(rs.getString(column));
+            }
+            writer.write('\n');
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+
+    private static class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Let the buffered writer decide when bytes reach the socket
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], rs.getLong(1));
+            generator.writeStringField(COLUMNS[1], rs.getDate(2).toLocalDate().toString());
+            generator.writeStringField(COLUMNS[2], rs.getString(3));
+            generator.writeNumberField(COLUMNS[3], rs.getBigDecimal(4));
+            generator.writeStringField(COLUMNS[4], rs.getString(5));
+            generator.writeStringField(COLUMNS[5], rs.getString(6));
+            generator.writeStringField(COLUMNS[6], rs.getString(7));
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+}
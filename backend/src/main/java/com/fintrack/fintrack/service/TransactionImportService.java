@@ -0,0 +1,199 @@
+package com.fintrack.fintrack.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fintrack.fintrack.importer.ImportFormat;
+import com.fintrack.fintrack.importer.ImportedTransaction;
+import com.fintrack.fintrack.importer.TransactionFileParser;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.model.Transaction;
+import com.fintrack.fintrack.model.TransactionType;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.service.TransactionRollupService.RollupBatch;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+
+/**
+ * Bulk-loads a statement file into one bank account. Rows are streamed from the parser
+ * into JDBC batches, and the account balance and rollups are adjusted once at the end,
+ * all inside a single database transaction so a failed import leaves nothing behind.
+ */
+@Service
+@Transactional
+public class TransactionImportService {
+    private static final String INSERT_TRANSACTION_SQL = "INSERT INTO transactions "
+            + "(id, amount, bank_account_id, category_id, transaction_type, description, is_manual, date, "
+            + "created_at, updated_at, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BankAccountService bankAccountService;
+    private final CategoryService categoryService;
+    private final TransactionRollupService rollupService;
+    private final TransactionSearchIndex searchIndex;
+    private final DashboardCache dashboardCache;
+    private final int batchSize;
+    private final String nextIdBlockSql;
+
+    public TransactionImportService(JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            BankAccountService bankAccountService,
+            CategoryService categoryService,
+            TransactionRollupService rollupService,
+            TransactionSearchIndex searchIndex,
+            DashboardCache dashboardCache,
+            @Value("${app.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bankAccountService = bankAccountService;
+        this.categoryService = categoryService;
+        this.rollupService = rollupService;
+        this.searchIndex = searchIndex;
+        this.dashboardCache = dashboardCache;
+        this.batchSize = batchSize;
+        this.nextIdBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(Transaction.ID_SEQUENCE);
+    }
+
+    public ImportResult importFile(Path file, ImportFormat format, Long bankAccountId, User user) throws IOException {
+        BankAccount bankAccount = bankAccountService.getBankAccountById(bankAccountId);
+        if (!bankAccount.getUser().getId().equals(user.getId())) {
+            throw new IllegalArgumentException("Bank account does not belong to user");
+        }
+
+        BatchWriter writer = new BatchWriter(bankAccount, user.getId(), categoryService.getCategoriesForUser(user));
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            format.parser().parse(reader, writer);
+        }
+        writer.flush();
+
+        rollupService.apply(user.getId(), writer.rollups);
+        bankAccountService.applyBalanceDelta(bankAccount, writer.balanceDelta);
+        searchIndex.reindex(user.getId());
+        dashboardCache.evict(user.getId());
+
+        return new ImportResult(writer.imported, writer.skipped, writer.errors);
+    }
+
+    public record ImportResult(long imported, long skipped, List<String> errors) {
+
+        public String summary() {
+            StringBuilder summary = new StringBuilder("Imported ").append(imported).append(" transactions");
+            if (skipped > 0) {
+                summary.append(", skipped ").append(skipped).append(": ").append(String.join("; ", errors));
+            }
+            return summary.append('.').toString();
+        }
+    }
+
+    private class BatchWriter implements TransactionFileParser.Sink {
+        private final BankAccount bankAccount;
+        private final Long userId;
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+        private final Category fallbackCategory;
+        private final List<Object[]> pending = new ArrayList<>(batchSize);
+        private final RollupBatch rollups = new RollupBatch();
+        private final List<String> errors = new ArrayList<>();
+        private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        private BigDecimal balanceDelta = BigDecimal.ZERO;
+        private long imported;
+        private long skipped;
+        private long nextId;
+        private long idBlockEnd = -1;
+
+        private BatchWriter(BankAccount bankAccount, Long userId, List<Category> categories) {
+            this.bankAccount = bankAccount;
+            this.userId = userId;
+            for (Category category : categories) {
+                // A user's own category wins over a default with the same name
+                String key = category.getName().toLowerCase(Locale.ROOT);
+                if (category.isCustom() || !categoriesByName.containsKey(key)) {
+                    categoriesByName.put(key, category);
+                }
+            }
+            this.fallbackCategory = categories.stream()
+                    .filter(c -> c.getName().equals("Other"))
+                    .findFirst()
+                    .orElse(categories.get(0));
+        }
+
+        @Override
+        public void accept(ImportedTransaction row) {
+            Category category = row.categoryName() == null ? fallbackCategory
+                    : categoriesByName.getOrDefault(row.categoryName().toLowerCase(Locale.ROOT), fallbackCategory);
+            String description = row.description() == null || row.description().isBlank()
+                    ? "Transaction"
+                    : row.description().strip();
+            if (description.length() > MAX_DESCRIPTION_LENGTH) {
+                description = description.substring(0, MAX_DESCRIPTION_LENGTH);
+            }
+
+            pending.add(new Object[] { nextId(), row.amount(), bankAccount.getId(), category.getId(), row.type().name(),
+                    description, false, Date.valueOf(row.date()), now, now, userId });
+            rollups.add(row.date(), category.getId(), row.type(), row.amount());
+            balanceDelta = row.type() == TransactionType.INCOME
+                    ? balanceDelta.add(row.amount())
+                    : balanceDelta.subtract(row.amount());
+
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void reject(long position, String reason) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("record " + position + ": " + reason);
+            }
+        }
+
+        /**
+         * Draws ids the way Hibernate's pooled optimizer does: each sequence value is the top
+         * of a block of {@link Transaction#ID_ALLOCATION_SIZE} ids, so rows written here never
+         * collide with ids the entity layer assigns.
+         */
+        private long nextId() {
+            if (nextId > idBlockEnd) {
+                long high = jdbcTemplate.queryForObject(nextIdBlockSql, Long.class);
+                if (high < Transaction.ID_ALLOCATION_SIZE) {
+                    // A fresh sequence's first value has no full block below it
+                    high = jdbcTemplate.queryForObject(nextIdBlockSql, Long.class);
+                }
+                nextId = high - Transaction.ID_ALLOCATION_SIZE + 1;
+                idBlockEnd = high;
+            }
+            return nextId++;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, pending);
+            imported += pending.size();
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.fintrack.fintrack.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.fintrack.repository.TransactionRollupRepository;
+
+/**
+ * Populates rollups for users whose transactions predate the rollup table.
+ */
+@Component
+public class TransactionRollupBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupBackfill.class);
+
+    private final TransactionRollupRepository rollupRepository;
+    private final TransactionRollupService rollupService;
+
+    public TransactionRollupBackfill(TransactionRollupRepository rollupRepository,
+            TransactionRollupService rollupService) {
+        this.rollupRepository = rollupRepository;
+        this.rollupService = rollupService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> userIds = rollupRepository.findUserIdsMissingRollups();
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        logger.info("Backfilling transaction rollups for {} users", userIds.size());
+        for (Long userId : userIds) {
+            rollupService.rebuildForUser(userId);
+        }
+    }
+}
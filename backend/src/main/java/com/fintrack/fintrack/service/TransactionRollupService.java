@@ -0,0 +1,188 @@
+package com.fintrack.fintrack.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fintrack.fintrack.model.Transaction;
+import com.fintrack.fintrack.model.TransactionType;
+import com.fintrack.fintrack.repository.TransactionRepository;
+import com.fintrack.fintrack.repository.TransactionRollupRepository;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Keeps {@link com.fintrack.fintrack.model.TransactionRollup} rows in step with
+ * the ledger. Callers record transactions inside their own database transaction
+ * so the rollup and the ledger always commit (or roll back) together.
+ */
+@Service
+@Transactional
+public class TransactionRollupService {
+    private static final String INSERT_ROLLUP_SQL = "INSERT INTO transaction_rollups "
+            + "(user_id, month_start, category_id, transaction_type, total_amount, transaction_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final TransactionRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DashboardCache dashboardCache;
+
+    public TransactionRollupService(TransactionRollupRepository rollupRepository,
+            TransactionRepository transactionRepository,
+            JdbcTemplate jdbcTemplate,
+            DashboardCache dashboardCache) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dashboardCache = dashboardCache;
+    }
+
+    public void record(Long userId, Transaction transaction) {
+        recordAll(userId, List.of(transaction));
+    }
+
+    public void recordAll(Long userId, Collection<Transaction> transactions) {
+        RollupBatch batch = new RollupBatch();
+        for (Transaction t : transactions) {
+            batch.add(t.getDate(), t.getCategory().getId(), t.getTransactionType(), t.getAmount());
+        }
+        apply(userId, batch);
+    }
+
+    /**
+     * Takes transactions that are being deleted back out of their buckets.
+     */
+    public void removeAll(Long userId, Collection<Transaction> transactions) {
+        RollupBatch batch = new RollupBatch();
+        for (Transaction t : transactions) {
+            batch.remove(t.getDate(), t.getCategory().getId(), t.getTransactionType(), t.getAmount());
+        }
+        apply(userId, batch);
+    }
+
+    /**
+     * Applies the buckets in key order, so transactions writing overlapping buckets at the
+     * same time lock them in the same order and cannot deadlock.
+     */
+    public void apply(Long userId, RollupBatch batch) {
+        batch.totals.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(RollupKey.ORDER))
+                .forEach(entry -> increment(userId, entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Recomputes every rollup row for a user from the ledger.
+     */
+    public void rebuildForUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+
+        RollupBatch batch = new RollupBatch();
+        for (Object[] row : transactionRepository.sumByMonthCategoryAndType(userId)) {
+            LocalDate monthStart = LocalDate.of((Integer) row[0], (Integer) row[1], 1);
+            RollupKey key = new RollupKey(monthStart, (Long) row[2], (TransactionType) row[3]);
+            batch.totals.put(key, new Totals((BigDecimal) row[4], (Long) row[5]));
+        }
+        apply(userId, batch);
+        dashboardCache.evict(userId);
+    }
+
+    private void increment(Long userId, RollupKey key, Totals totals) {
+        int updated = rollupRepository.increment(userId, key.monthStart(), key.categoryId(), key.type(),
+                totals.amount, totals.count);
+        if (updated > 0) {
+            return;
+        }
+
+        if (!insert(userId, key, totals)) {
+            rollupRepository.increment(userId, key.monthStart(), key.categoryId(), key.type(),
+                    totals.amount, totals.count);
+        }
+    }
+
+    /**
+     * Inserts the first row for a bucket. The insert runs under a savepoint so that losing
+     * the race against a concurrent insert leaves the surrounding transaction usable
+     * (Postgres aborts the whole transaction on an unguarded constraint violation).
+     */
+    private boolean insert(Long userId, RollupKey key, Totals totals) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ROLLUP_SQL)) {
+                ps.setLong(1, userId);
+                ps.setDate(2, Date.valueOf(key.monthStart()));
+                ps.setLong(3, key.categoryId());
+                ps.setString(4, key.type().name());
+                ps.setBigDecimal(5, totals.amount);
+                ps.setLong(6, totals.count);
+                ps.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Collects per-bucket deltas in memory so that a batch of transactions costs
+     * one statement per distinct month/category/type instead of one per row.
+     */
+    public static class RollupBatch {
+        private final Map<RollupKey, Totals> totals = new HashMap<>();
+
+        public void add(LocalDate date, Long categoryId, TransactionType type, BigDecimal amount) {
+            Totals bucket = bucket(date, categoryId, type);
+            bucket.amount = bucket.amount.add(amount);
+            bucket.count++;
+        }
+
+        public void remove(LocalDate date, Long categoryId, TransactionType type, BigDecimal amount) {
+            Totals bucket = bucket(date, categoryId, type);
+            bucket.amount = bucket.amount.subtract(amount);
+            bucket.count--;
+        }
+
+        private Totals bucket(LocalDate date, Long categoryId, TransactionType type) {
+            RollupKey key = new RollupKey(date.withDayOfMonth(1), categoryId, type);
+            return totals.computeIfAbsent(key, k -> new Totals(BigDecimal.ZERO, 0));
+        }
+
+        public boolean isEmpty() {
+            return totals.isEmpty();
+        }
+    }
+
+    private record RollupKey(LocalDate monthStart, Long categoryId, TransactionType type) {
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::monthStart)
+                .thenComparing(RollupKey::categoryId)
+                .thenComparing(RollupKey::type);
+    }
+
+    private static class Totals {
+        private BigDecimal amount;
+        private long count;
+
+        private Totals(BigDecimal amount, long count) {
+            this.amount = amount;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fintrack.fintrack.service;
+
+import java.util.Collection;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.fintrack.fintrack.model.Transaction;
+
+/**
+ * Relevance-ranked lookup over transaction descriptions. The engine is chosen
+ * with {@code app.search.engine}: {@code postgres} (trigram index, the default)
+ * or {@code memory} (in-process inverted index for H2).
+ */
+public interface TransactionSearchIndex {
+
+    /**
+     * Returns ids of the user's matching transactions, best match first, ties
+     * broken by {@code date DESC, id DESC}.
+     */
+    Page<Long> searchRanked(Long userId, String query, Pageable pageable);
+
+    /**
+     * Called with transactions written in the current database transaction.
+     */
+    default void indexAll(Long userId, Collection<Transaction> transactions) {
+    }
+
+    /**
+     * Called after bulk writes that bypass the entity layer.
+     */
+    default void reindex(Long userId) {
+    }
+}
@@ -13,84 +13,128 @@ import com.fintrack.fintrack.model.BankAccount;
 import jakarta.transaction.Transactional;
 import lombok.Data;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fintrack.fintrack.dto.BudgetDTO.BudgetResponse;
 import com.fintrack.fintrack.dto.TransactionDTO.*;
 import com.fintrack.fintrack.specification.TransactionSpecification;
+import com.fintrack.fintrack.util.TransactionCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.UUID;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 @Service
 @Transactional
 public class TransactionService {
-    // Static ObjectMapper singleton - avoids creating new instance on each call
-    private static final ObjectMapper MAPPER;
-    static {
-        MAPPER = new ObjectMapper();
-        MAPPER.registerModule(new JavaTimeModule());
-    }
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "date", "id");
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     private final TransactionRepository transactionRepository;
     private final CategoryService categoryService;
     private final BankAccountService bankAccountService;
     private final TransactionMapper transactionMapper;
     private final BudgetService budgetService;
-    private final GeminiService geminiService;
+    private final TransactionRollupService rollupService;
+    private final DashboardCache dashboardCache;
+    private final TransactionSearchIndex searchIndex;
 
     public TransactionService(TransactionRepository transactionRepository,
             TransactionMapper transactionMapper,
             CategoryService categoryService,
             BankAccountService bankAccountService,
             @Lazy BudgetService budgetService,
-            GeminiService geminiService) {
+            TransactionRollupService rollupService,
+            DashboardCache dashboardCache,
+            TransactionSearchIndex searchIndex) {
         this.transactionRepository = transactionRepository;
         this.transactionMapper = transactionMapper;
         this.categoryService = categoryService;
         this.bankAccountService = bankAccountService;
         this.budgetService = budgetService;
-        this.geminiService = geminiService;
+        this.rollupService = rollupService;
+        this.dashboardCache = dashboardCache;
+        this.searchIndex = searchIndex;
     }
 
     public Page<TransactionResponse> getAllTransactions(User user, Pageable pageable) {
-        Specification<Transaction> spec = (root, query, cb) -> cb.equal(root.get("bankAccount").get("user").get("id"),
-                user.getId());
-        return transactionRepository.findAll(spec, pageable).map(transactionMapper::toTransactionResponse);
+        Specification<Transaction> spec = TransactionSpecification.belongsTo(user);
+        return transactionRepository.findResponses(spec, pageable);
     }
 
     public Page<TransactionResponse> searchTransactions(String query, User user, Pageable pageable) {
         Specification<Transaction> spec = TransactionSpecification.searchBy(query, user);
-        return transactionRepository.findAll(spec, pageable).map(transactionMapper::toTransactionResponse);
+        return transactionRepository.findResponses(spec, pageable);
+    }
+
+    public Page<TransactionResponse> searchTransactionsByRelevance(String query, User user, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return searchTransactions(query, user, pageable);
+        }
+        Page<Long> ids = searchIndex.searchRanked(user.getId(), query.strip(), pageable);
+        Map<Long, TransactionResponse> byId = transactionRepository.findResponsesByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(TransactionResponse::getId, Function.identity()));
+        // A ranked id can lack a row: deleted since it was ranked, or a stale index entry
+        List<TransactionResponse> rows = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(rows, pageable, ids.getTotalElements());
     }
 
     public Page<TransactionResponse> filterTransactions(TransactionFilterDTO filter, User user, Pageable pageable) {
         Specification<Transaction> spec = TransactionSpecification.filterBy(filter, user);
-        return transactionRepository.findAll(spec, pageable).map(transactionMapper::toTransactionResponse);
+        return transactionRepository.findResponses(spec, pageable);
+    }
+
+    public TransactionCursorPage getAllTransactions(User user, String cursor, int size) {
+        return findAfterCursor(TransactionSpecification.belongsTo(user), cursor, size);
+    }
+
+    public TransactionCursorPage searchTransactions(String query, User user, String cursor, int size) {
+        return findAfterCursor(TransactionSpecification.searchBy(query, user), cursor, size);
+    }
+
+    public TransactionCursorPage filterTransactions(TransactionFilterDTO filter, User user, String cursor,
+            int size) {
+        return findAfterCursor(TransactionSpecification.filterBy(filter, user), cursor, size);
+    }
+
+    /**
+     * Seeks past the cursor on (date, id) and reads one extra row to learn whether
+     * another page exists, so no count query is issued and the cost of a page does
+     * not grow with its depth.
+     */
+    private TransactionCursorPage findAfterCursor(Specification<Transaction> spec, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Specification<Transaction> seek = spec.and(TransactionSpecification.after(TransactionCursor.decode(cursor)));
+
+        List<TransactionResponse> rows = transactionRepository.findResponses(seek, KEYSET_SORT, limit + 1);
+
+        boolean hasNext = rows.size() > limit;
+        List<TransactionResponse> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionResponse last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getDate(), last.getId()).encode();
+        }
+        return new TransactionCursorPage(page, nextCursor, hasNext);
     }
 
     public TransactionResponse createTransaction(CreateTransactionRequest dto, User user) {
         Transaction transaction = transactionMapper.toEntity(dto);
         BankAccount bankAccount = bankAccountService.getBankAccountById(dto.getBankAccountId());
 
-        if (transaction.getTransactionType() == TransactionType.INCOME) {
-            bankAccount.setBalance(bankAccount.getBalance().add(transaction.getAmount()));
-        } else {
-            bankAccount.setBalance(bankAccount.getBalance().subtract(transaction.getAmount()));
-        }
-
         transaction.setBankAccount(bankAccount);
         transaction.setManual(true);
 
@@ -104,7 +148,13 @@ public class TransactionService {
         }
 
         Transaction savedTransaction = transactionRepository.save(transaction);
-        bankAccountService.updateBankAccount(bankAccount);
+        rollupService.record(bankAccount.getUser().getId(), savedTransaction);
+        searchIndex.indexAll(bankAccount.getUser().getId(), List.of(savedTransaction));
+        bankAccountService.applyBalanceDelta(bankAccount,
+                savedTransaction.getTransactionType() == TransactionType.INCOME
+                        ? savedTransaction.getAmount()
+                        : savedTransaction.getAmount().negate());
+        dashboardCache.evict(bankAccount.getUser().getId());
         return transactionMapper.toTransactionResponse(savedTransaction);
     }
 
@@ -121,120 +171,181 @@ public class TransactionService {
                         row -> row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO));
     }
 
-    public List<TransactionResponse> syncTransactions(Long bankAccountId, User user) {
+    /**
+     * First half of a sync: checks ownership and loads what the transaction source works
+     * from. Returns null when the account was already synced today. A sync job first takes
+     * back whatever an earlier attempt of it stored past the checkpoint: that attempt's
+     * worker died before it could clean up, and this one generates those rows again.
+     */
+    public SyncRequest prepareSync(Long bankAccountId, User user, UUID syncJobId) {
         BankAccount bankAccount = bankAccountService.getBankAccountById(bankAccountId);
 
         if (!bankAccount.getUser().getId().equals(user.getId())) {
             throw new IllegalArgumentException("Bank account does not belong to user");
         }
 
+        BigDecimal balance = bankAccount.getBalance();
+        if (syncJobId != null) {
+            balance = balance.subtract(discard(bankAccount, user, transactionRepository
+                    .findBySyncJobIdAndSyncWindowStartGreaterThanEqual(syncJobId, bankAccount.getLastSync())));
+        }
+
         LocalDateTime lastSync = bankAccount.getLastSync();
         LocalDateTime today = LocalDateTime.now();
 
         long daysSinceLastSync = ChronoUnit.DAYS.between(lastSync, today);
 
         if (daysSinceLastSync <= 0) {
-            return Collections.emptyList();
+            return null;
         }
 
         List<BudgetResponse> budgets = budgetService.getBudgetsForUser(user);
         List<Category> categories = categoryService.getCategoriesForUser(user);
 
-        StringBuilder promptBuilder = new StringBuilder();
-        promptBuilder.append("Generate a JSON array of mock bank transactions for the last ")
-                .append(daysSinceLastSync).append(" days (from ").append(lastSync).append(" to ").append(today)
-                .append("). ")
-                .append("The user has a bank account balance of ").append(bankAccount.getBalance()).append(". ");
+        return new SyncRequest(bankAccountId, lastSync, today, balance, categories, budgets);
+    }
 
-        promptBuilder.append("The user has the following categories available:\n");
-        for (Category category : categories) {
-            promptBuilder.append(category.getId()).append(": ").append(category.getName()).append(", ");
+    /**
+     * Stores one batch of generated transactions in its own short transaction, so rows land
+     * while the upstream is still generating and no connection is held between batches. The
+     * last batch of a window also moves lastSync forward to the window's end; if lastSync is
+     * no longer where the window starts, another sync got there first and the batch is rolled
+     * back. Every batch locks its rollup rows before the account row, so batches of chunks
+     * written side by side cannot deadlock.
+     */
+    public List<TransactionResponse> saveSyncBatch(SyncRequest request, User user,
+            List<MockTransactionDTO> batch, boolean lastBatch, UUID syncJobId) {
+        BankAccount bankAccount = bankAccountService.getBankAccountById(request.bankAccountId());
+        List<TransactionResponse> saved = batch.isEmpty() ? Collections.emptyList()
+                : saveSyncRows(bankAccount, user, batch, syncJobId, request.lastSync());
+        if (lastBatch && !bankAccountService.markSynced(bankAccount, request.lastSync(), request.until())) {
+            throw new IllegalStateException("Bank account was synced concurrently");
         }
-        promptBuilder.append("\n");
+        return saved;
+    }
 
-        if (budgets.isEmpty()) {
-            promptBuilder.append(
-                    "The user has no specific budgets set. Generate realistic transactions based on the available categories and balance. ");
-        } else {
-            promptBuilder
-                    .append("The user has the following budgets per category along with how much they have spent: ");
-            for (BudgetResponse budget : budgets) {
-                promptBuilder.append(budget.getCategoryName()).append(": ").append(budget.getAmount())
-                        .append(": spent-")
-                        .append(budget.getSpentAmount()).append(", ");
+    private List<TransactionResponse> saveSyncRows(BankAccount bankAccount, User user,
+            List<MockTransactionDTO> batch, UUID syncJobId, LocalDateTime windowStart) {
+        List<Category> categories = categoryService.getCategoriesForUser(user);
+        Map<Long, Category> categoryMap = categories.stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        Category fallbackCategory = categories.stream()
+                .filter(c -> c.getName().equals("Other"))
+                .findFirst()
+                .orElse(categories.get(0));
+
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        BigDecimal totalIncome = BigDecimal.ZERO;
+
+        List<Transaction> transactionsToSave = new ArrayList<>(batch.size());
+
+        for (MockTransactionDTO mock : batch) {
+            Transaction t = new Transaction(
+                    mock.getAmount(),
+                    mock.getDate(),
+                    mock.getDescription(),
+                    TransactionType.valueOf(mock.getType()),
+                    false,
+                    bankAccount);
+
+            Category category = (mock.getCategoryId() != null)
+                    ? categoryMap.getOrDefault(mock.getCategoryId(), fallbackCategory)
+                    : fallbackCategory;
+
+            t.setCategory(category);
+            t.setSyncJobId(syncJobId);
+            t.setSyncWindowStart(windowStart);
+            transactionsToSave.add(t);
+
+            if (t.getTransactionType() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(t.getAmount());
+            } else {
+                totalExpense = totalExpense.add(t.getAmount());
             }
-            promptBuilder.append(
-                    ". Generate realistic transactions (expenses and potentially income) based on these budgets and the balance. ");
         }
 
-        promptBuilder.append("If the date range includes the start of a month, include a salary income transaction. ")
-                .append("Each transaction object should have: 'amount' (number), 'date' (YYYY-MM-DD), 'description' (string), ")
-                .append("'type' ('INCOME' or 'EXPENSE'), and 'categoryId' (integer, referring to the ID of the category from the provided list). ")
-                .append("Output ONLY the JSON array.");
-
-        try {
-            String jsonResponse = geminiService.generateTransactions(promptBuilder.toString());
-            jsonResponse = jsonResponse
-                    .replaceAll("^```(json)?\\s*", "")
-                    .replaceAll("\\s*```$", "")
-                    .strip();
-
-            List<MockTransactionDTO> mockTransactions = MAPPER.readValue(jsonResponse,
-                    new TypeReference<List<MockTransactionDTO>>() {
-                    });
-
-            Map<Long, Category> categoryMap = categories.stream()
-                    .collect(Collectors.toMap(Category::getId, Function.identity()));
-
-            Category fallbackCategory = categories.stream()
-                    .filter(c -> c.getName().equals("Other"))
-                    .findFirst()
-                    .orElse(categories.get(0));
-
-            BigDecimal totalExpense = BigDecimal.ZERO;
-            BigDecimal totalIncome = BigDecimal.ZERO;
-
-            List<Transaction> transactionsToSave = new ArrayList<>(mockTransactions.size());
-
-            for (MockTransactionDTO mock : mockTransactions) {
-                Transaction t = new Transaction(
-                        mock.getAmount(),
-                        mock.getDate(),
-                        mock.getDescription(),
-                        TransactionType.valueOf(mock.getType()),
-                        false,
-                        bankAccount);
-
-                Category category = (mock.getCategoryId() != null)
-                        ? categoryMap.get(mock.getCategoryId())
-                        : fallbackCategory;
-
-                t.setCategory(category);
-                transactionsToSave.add(t);
-
-                if (t.getTransactionType() == TransactionType.INCOME) {
-                    totalIncome = totalIncome.add(t.getAmount());
-                } else {
-                    totalExpense = totalExpense.add(t.getAmount());
-                }
-            }
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactionsToSave);
+        rollupService.recordAll(user.getId(), savedTransactions);
+        searchIndex.indexAll(user.getId(), savedTransactions);
+
+        bankAccountService.applyBalanceDelta(bankAccount, totalIncome.subtract(totalExpense));
+        dashboardCache.evict(user.getId());
+
+        return savedTransactions.stream().map(transactionMapper::toTransactionResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Deletes rows stored by sync batches whose window never got its lastSync checkpoint, and
+     * takes them back out of the balance, rollups and search index. The retry starts from the
+     * unmoved lastSync and generates them again. Rows left behind by a worker that died
+     * before getting here are taken back by the next attempt of its job in
+     * {@link #prepareSync}.
+     */
+    public void discardSyncBatches(Long bankAccountId, User user, List<Long> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+        discard(bankAccountService.getBankAccountById(bankAccountId), user,
+                transactionRepository.findAllById(transactionIds));
+    }
 
-            List<Transaction> savedTransactions = transactionRepository.saveAll(transactionsToSave);
+    /**
+     * Returns the net amount the rows had added to the balance.
+     */
+    private BigDecimal discard(BankAccount bankAccount, User user, List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal net = BigDecimal.ZERO;
+        for (Transaction t : transactions) {
+            net = t.getTransactionType() == TransactionType.INCOME ? net.add(t.getAmount())
+                    : net.subtract(t.getAmount());
+        }
 
-            bankAccount.setBalance(bankAccount.getBalance().add(totalIncome).subtract(totalExpense));
-            bankAccount.setLastSync(LocalDateTime.now());
-            bankAccountService.updateBankAccount(bankAccount);
+        rollupService.removeAll(user.getId(), transactions);
+        transactionRepository.deleteAllInBatch(transactions);
+        searchIndex.reindex(user.getId());
+        bankAccountService.applyBalanceDelta(bankAccount, net.negate());
+        dashboardCache.evict(user.getId());
+        return net;
+    }
 
-            return savedTransactions.stream().map(transactionMapper::toTransactionResponse)
-                    .collect(Collectors.toList());
+    /**
+     * What a {@link TransactionSource} needs to generate the transactions for one sync window.
+     */
+    public record SyncRequest(Long bankAccountId, LocalDateTime lastSync, LocalDateTime until,
+            BigDecimal balance, List<Category> categories, List<BudgetResponse> budgets) {
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to sync transactions: " + e.getMessage(), e);
+        public long days() {
+            return ChronoUnit.DAYS.between(lastSync, until);
+        }
+
+        /**
+         * Splits the window into consecutive chunks of chunkDays days; the last one also takes
+         * any remainder, so every chunk spans at least a day. The balance is shared out evenly
+         * so that chunks generated side by side cannot together spend more than the account holds.
+         */
+        public List<SyncRequest> chunks(int chunkDays) {
+            int count = (int) Math.max(1, days() / chunkDays);
+            if (count == 1) {
+                return List.of(this);
+            }
+
+            BigDecimal share = balance.divide(BigDecimal.valueOf(count), 2, RoundingMode.DOWN);
+            List<SyncRequest> chunks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime from = lastSync.plusDays((long) i * chunkDays);
+                LocalDateTime to = i == count - 1 ? until : from.plusDays(chunkDays);
+                chunks.add(new SyncRequest(bankAccountId, from, to, share, categories, budgets));
+            }
+            return chunks;
         }
     }
 
     @Data
-    static class MockTransactionDTO {
+    public static class MockTransactionDTO {
         private BigDecimal amount;
         private LocalDate date;
         private String description;
@@ -0,0 +1,30 @@
+package com.fintrack.fintrack.service;
+
+import java.io.IOException;
+
+import com.fintrack.fintrack.service.TransactionService.MockTransactionDTO;
+import com.fintrack.fintrack.service.TransactionService.SyncRequest;
+
+/**
+ * Where a bank sync gets its transactions from. The implementation is chosen with
+ * {@code app.sync.source}: {@code gemini} (the default) asks the LLM, {@code synthetic}
+ * generates them locally for load tests and offline use.
+ */
+public interface TransactionSource {
+
+    /**
+     * Generates the transactions between {@link SyncRequest#lastSync()} and
+     * {@link SyncRequest#until()}, handing each one to the sink as soon as it is available.
+     */
+    void generate(SyncRequest request, Sink sink) throws IOException, InterruptedException;
+
+    interface Sink {
+        void accept(MockTransactionDTO transaction);
+
+        /**
+         * A natural pause in the source's output, such as the end of a network chunk; rows
+         * accepted so far may be written now.
+         */
+        void pause();
+    }
+}
@@ -0,0 +1,204 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.service.TransactionService.MockTransactionDTO;
+import com.fintrack.fintrack.service.TransactionService.SyncRequest;
+
+/**
+ * Runs a bank sync without holding a database transaction across the slow upstream call.
+ * A short read transaction loads what the {@link TransactionSource} needs. Long gaps since
+ * lastSync are split into chunks of app.sync.chunk-days days that are generated side by side,
+ * at most app.sync.max-parallel-chunks at a time. Each generated transaction is written in
+ * short batch transactions: the first rows right away, after that whenever a batch fills up
+ * or the flush interval has passed.
+ *
+ * <p>A chunk's last batch moves lastSync to the end of the chunk, and it can only do so
+ * once the chunk before it has, so lastSync works as a checkpoint covering only chunks that
+ * are stored in full. When a sync fails, the rows of every chunk that did not reach its
+ * checkpoint are deleted again; the chunks before stay saved and a retry regenerates the
+ * rest, starting at the first incomplete one. If the node dies before it can delete them,
+ * the attempt that reclaims the job does so before it starts.
+ */
+@Service
+public class TransactionSyncService {
+    private final TransactionService transactionService;
+    private final TransactionSource transactionSource;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int chunkDays;
+    private final int maxParallelChunks;
+
+    public TransactionSyncService(TransactionService transactionService, TransactionSource transactionSource,
+            @Value("${app.sync.batch-size:200}") int batchSize,
+            @Value("${app.sync.flush-interval:PT1S}") Duration flushInterval,
+            @Value("${app.sync.chunk-days:7}") int chunkDays,
+            @Value("${app.sync.max-parallel-chunks:4}") int maxParallelChunks) {
+        this.transactionService = transactionService;
+        this.transactionSource = transactionSource;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.chunkDays = chunkDays;
+        this.maxParallelChunks = maxParallelChunks;
+    }
+
+    public List<TransactionResponse> syncTransactions(Long bankAccountId, User user) {
+        return syncTransactions(bankAccountId, user, null);
+    }
+
+    /**
+     * Syncs on behalf of a job. Rows are tagged with the job, so that an attempt reclaiming
+     * the job from a worker that died mid-chunk can take that worker's unfinished chunks back.
+     */
+    public List<TransactionResponse> syncTransactions(Long bankAccountId, User user, UUID jobId) {
+        SyncRequest request = transactionService.prepareSync(bankAccountId, user, jobId);
+        if (request == null) {
+            return Collections.emptyList();
+        }
+
+        List<SyncRequest> chunks = request.chunks(chunkDays);
+        AtomicBoolean abandoned = new AtomicBoolean();
+        List<ChunkWriter> writers = new ArrayList<>(chunks.size());
+        CompletableFuture<Boolean> previous = CompletableFuture.completedFuture(true);
+        for (SyncRequest chunk : chunks) {
+            ChunkWriter writer = new ChunkWriter(chunk, user, jobId, previous, abandoned);
+            writers.add(writer);
+            previous = writer.checkpointed;
+        }
+
+        if (writers.size() == 1) {
+            writers.get(0).run();
+        } else {
+            ThreadFactory threads = Thread.ofVirtual().name("SyncChunk-", 0).factory();
+            try (ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(maxParallelChunks, writers.size()), threads)) {
+                writers.forEach(writer -> executor.execute(writer::run));
+            }
+        }
+
+        List<TransactionResponse> saved = new ArrayList<>();
+        List<Long> unfinished = new ArrayList<>();
+        Exception failure = null;
+        for (ChunkWriter writer : writers) {
+            if (Boolean.TRUE.equals(writer.checkpointed.getNow(false))) {
+                saved.addAll(writer.saved);
+            } else {
+                writer.saved.forEach(row -> unfinished.add(row.getId()));
+            }
+            if (failure == null) {
+                failure = writer.failure;
+            }
+        }
+        if (failure != null) {
+            // Completed chunks stay; the retry generates the rest again, so drop what they wrote
+            try {
+                transactionService.discardSyncBatches(request.bankAccountId(), user, unfinished);
+            } catch (RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+            String progress = saved.isEmpty() ? ""
+                    : " (" + saved.size() + " transactions were saved before the failure)";
+            String reason = failure instanceof InterruptedException ? "interrupted" : failure.getMessage();
+            throw new RuntimeException("Failed to sync transactions: " + reason + progress, failure);
+        }
+        return saved;
+    }
+
+    private class ChunkWriter implements TransactionSource.Sink {
+        private final SyncRequest request;
+        private final User user;
+        private final UUID jobId;
+        private final CompletableFuture<Boolean> previous;
+        private final AtomicBoolean abandoned;
+        /**
+         * Completes with true once this chunk's last batch has moved lastSync, or false if it
+         * never will.
+         */
+        private final CompletableFuture<Boolean> checkpointed = new CompletableFuture<>();
+        private final List<MockTransactionDTO> pending = new ArrayList<>();
+        private final List<TransactionResponse> saved = new ArrayList<>();
+        private boolean started;
+        private long lastWrite = System.nanoTime();
+        private Exception failure;
+
+        private ChunkWriter(SyncRequest request, User user, UUID jobId, CompletableFuture<Boolean> previous,
+                AtomicBoolean abandoned) {
+            this.request = request;
+            this.user = user;
+            this.jobId = jobId;
+            this.previous = previous;
+            this.abandoned = abandoned;
+        }
+
+        private void run() {
+            try {
+                if (abandoned.get()) {
+                    return;
+                }
+                transactionSource.generate(request, this);
+                finish();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = e;
+            } catch (Exception e) {
+                failure = e;
+            } finally {
+                if (!checkpointed.isDone()) {
+                    // Nothing after this chunk can be checkpointed now, so don't start any more
+                    abandoned.set(true);
+                    checkpointed.complete(false);
+                }
+            }
+        }
+
+        @Override
+        public void accept(MockTransactionDTO transaction) {
+            pending.add(transaction);
+            if (pending.size() >= batchSize) {
+                write(false);
+            }
+        }
+
+        @Override
+        public void pause() {
+            if (!pending.isEmpty() && (!started || System.nanoTime() - lastWrite >= flushIntervalNanos)) {
+                write(false);
+            }
+        }
+
+        /**
+         * Writes the tail together with the checkpoint, even when nothing is left to write. A
+         * chunk that finished ahead of its predecessor waits here for it; if the predecessor
+         * never got its checkpoint in, this chunk is left unfinished too.
+         */
+        private void finish() throws InterruptedException, ExecutionException {
+            if (!previous.get()) {
+                return;
+            }
+            write(true);
+            checkpointed.complete(true);
+        }
+
+        private void write(boolean last) {
+            saved.addAll(transactionService.saveSyncBatch(request, user, List.copyOf(pending), last, jobId));
+            started = true;
+            pending.clear();
+            lastWrite = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fintrack.fintrack.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of users by id, without their password hash, for request handling that
+ * needs more than the token carries. It also answers whether a token's version is still
+ * current, so authenticating a request normally needs no query. A revocation made on
+ * another node is seen here once the entry expires (app.auth.user-cache.ttl). Hit, miss and
+ * eviction counts are published as the {@code cache.*} meters tagged {@code cache=users}.
+ */
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final Cache<Long, User> cache;
+
+    public UserCache(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${app.auth.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.auth.user-cache.ttl:PT1M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<User> get(Long userId) {
+        return Optional.ofNullable(cache.get(userId, this::load));
+    }
+
+    /**
+     * Whether a token issued at this version has not been revoked since. A token newer than
+     * the cached entry means the entry is stale, so it is reloaded once before comparing.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Optional<User> user = get(userId);
+        if (user.isPresent() && tokenVersion > user.get().getTokenVersion()) {
+            cache.invalidate(userId);
+            user = get(userId);
+        }
+        return user.isPresent() && user.get().getTokenVersion() == tokenVersion;
+    }
+
+    /**
+     * Drops the user now and again once the surrounding transaction completes, so a request
+     * that reads the row before the change commits cannot cache the old version.
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private User load(Long userId) {
+        return userRepository.findById(userId)
+                .map(found -> {
+                    User user = new User();
+                    user.setId(found.getId());
+                    user.setName(found.getName());
+                    user.setEmail(found.getEmail());
+                    user.setTokenVersion(found.getTokenVersion());
+                    user.setCreatedAt(found.getCreatedAt());
+                    user.setUpdatedAt(found.getUpdatedAt());
+                    return user;
+                })
+                .orElse(null);
+    }
+}
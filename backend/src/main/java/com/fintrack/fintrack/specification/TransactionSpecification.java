@@ -3,6 +3,7 @@ package com.fintrack.fintrack.specification;
 import com.fintrack.fintrack.dto.TransactionDTO.TransactionFilterDTO;
 import com.fintrack.fintrack.model.Transaction;
 import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.util.TransactionCursor;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -16,7 +17,7 @@ public class TransactionSpecification {
             List<Predicate> predicates = new ArrayList<>();
 
             // User filter (always apply)
-            predicates.add(criteriaBuilder.equal(root.get("bankAccount").get("user").get("id"), user.getId()));
+            predicates.add(criteriaBuilder.equal(root.get("userId"), user.getId()));
 
             if (filter.getTransactionType() != null) {
                 predicates.add(criteriaBuilder.equal(root.get("transactionType"), filter.getTransactionType()));
@@ -47,7 +48,7 @@ public class TransactionSpecification {
             List<Predicate> predicates = new ArrayList<>();
 
             // User filter (always apply)
-            predicates.add(criteriaBuilder.equal(root.get("bankAccount").get("user").get("id"), user.getId()));
+            predicates.add(criteriaBuilder.equal(root.get("userId"), user.getId()));
 
             if (search != null && !search.isBlank()) {
                 String likePattern = "%" + search.toLowerCase() + "%";
@@ -57,4 +58,22 @@ public class TransactionSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    public static Specification<Transaction> belongsTo(User user) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("userId"), user.getId());
+    }
+
+    // Rows strictly after the cursor in (date DESC, id DESC) order
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return null;
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.lessThan(root.get("date"), cursor.date()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("date"), cursor.date()),
+                            criteriaBuilder.lessThan(root.get("id"), cursor.id())));
+        };
+    }
 }
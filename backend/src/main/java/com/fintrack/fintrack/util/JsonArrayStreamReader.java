@@ -0,0 +1,95 @@
+package com.fintrack.fintrack.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Incrementally reads a JSON array of objects from text that arrives in arbitrary
+ * fragments, handing each element to the consumer as soon as its closing brace has been
+ * seen. Anything before the opening bracket or after the closing one (such as a Markdown
+ * code fence around LLM output) is ignored.
+ */
+public class JsonArrayStreamReader<T> {
+    private final ObjectMapper objectMapper;
+    private final Class<T> elementType;
+    private final Consumer<T> consumer;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private boolean started;
+    private boolean finished;
+    private int depth;
+    private TokenBuffer element;
+
+    public JsonArrayStreamReader(ObjectMapper objectMapper, Class<T> elementType, Consumer<T> consumer)
+            throws IOException {
+        this.objectMapper = objectMapper;
+        this.elementType = elementType;
+        this.consumer = consumer;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public void feed(String fragment) throws IOException {
+        if (finished) {
+            return;
+        }
+        if (!started) {
+            int open = fragment.indexOf('[');
+            if (open < 0) {
+                return;
+            }
+            fragment = fragment.substring(open);
+            started = true;
+        }
+
+        byte[] bytes = fragment.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * Fails if the input ended before the array was closed.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        feeder.endOfInput();
+        drain();
+        if (!finished) {
+            throw new IOException("Response ended before the JSON array was complete");
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            if (depth == 0) {
+                // Closing bracket of the top-level array; ignore whatever trails it
+                finished = true;
+            } else if (depth == 2 && token == JsonToken.START_OBJECT) {
+                element = new TokenBuffer(objectMapper, false).forceUseOfBigDecimal(true);
+                element.copyCurrentEvent(parser);
+            } else if (element != null) {
+                element.copyCurrentEvent(parser);
+                if (depth == 1) {
+                    consumer.accept(objectMapper.readValue(element.asParser(), elementType));
+                    element = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.fintrack.fintrack.util;
+
+/**
+ * Token bucket state: up to capacity tokens, regaining one every refill interval. Times may
+ * be in any unit as long as a bucket always gets the same one, such as
+ * {@code System.nanoTime()} for buckets held in memory or epoch milliseconds for buckets
+ * shared between nodes. Not thread-safe; callers hold a lock around {@link #take}.
+ */
+public class TokenBucket {
+    private int tokens;
+    private long refilledAt;
+
+    public TokenBucket(int tokens, long refilledAt) {
+        this.tokens = tokens;
+        this.refilledAt = refilledAt;
+    }
+
+    /**
+     * Takes a token and returns 0, or returns how long until the next one is due.
+     */
+    public long take(long now, int capacity, long refillInterval) {
+        long due = (now - refilledAt) / refillInterval;
+        if (due > 0) {
+            tokens = (int) Math.min(capacity, tokens + due);
+            refilledAt += due * refillInterval;
+        }
+        if (tokens >= capacity) {
+            // A full bucket starts refilling from the token taken now
+            tokens = capacity;
+            refilledAt = now;
+        }
+        if (tokens > 0) {
+            tokens--;
+            return 0;
+        }
+        return refillInterval - (now - refilledAt);
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    public long getRefilledAt() {
+        return refilledAt;
+    }
+}
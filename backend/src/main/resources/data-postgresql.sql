@@ -0,0 +1,19 @@
+-- Backfill transactions.user_id for rows written before the column existed, then enforce it.
+-- The entity leaves the column nullable so that ddl-auto=update can add it to a populated table.
+UPDATE transactions t
+SET user_id = b.user_id
+FROM bank_accounts b
+WHERE b.id = t.bank_account_id
+  AND t.user_id IS NULL;
+
+ALTER TABLE transactions ALTER COLUMN user_id SET NOT NULL;
+
+-- Jobs queued before job_requests became a polled queue have no availableAt; make them runnable.
+UPDATE job_requests
+SET available_at = created_at
+WHERE available_at IS NULL;
+
+-- Sync jobs created before job_type existed; workers claim by type.
+UPDATE job_requests
+SET job_type = 'SYNC'
+WHERE job_type IS NULL;
@@ -0,0 +1,12 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Serves both lower(description) LIKE '%q%' and the word-similarity operator used for ranked search.
+CREATE INDEX IF NOT EXISTS idx_transaction_description_trgm
+    ON transactions USING gin (lower(description) gin_trgm_ops);
+
+-- transactions.id moved from IDENTITY to the pooled transactions_seq (allocation 50). Keep the
+-- sequence ahead of ids issued before the switch; each value is the top of a 50-id block.
+SELECT setval('transactions_seq',
+              GREATEST((SELECT last_value FROM transactions_seq),
+                       (SELECT COALESCE(MAX(id), 0) FROM transactions) + 50));
@@ -0,0 +1,118 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fintrack.fintrack.dto.TransactionDTO.CreateTransactionRequest;
+import com.fintrack.fintrack.dto.userDTO.AuthResponse;
+import com.fintrack.fintrack.dto.userDTO.RegisterUserRequest;
+import com.fintrack.fintrack.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Base for tests that call the API over HTTP on a random port: signs up users and sends
+ * requests as the one signed in last. Subclasses carry their own {@code @SpringBootTest}.
+ */
+abstract class ApiTestSupport {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected TestRestTemplate restTemplate;
+
+    protected String baseUrl;
+    protected String email;
+    protected String authToken;
+
+    @BeforeEach
+    void setUpBaseUrl() {
+        baseUrl = "http://localhost:" + port;
+    }
+
+    /**
+     * Registers a user with a fresh email starting with the prefix and returns their token.
+     * {@link #email} is left holding that user's address.
+     */
+    protected String registerAndLoginUser(String emailPrefix) {
+        return login(registerUser(emailPrefix)).getToken();
+    }
+
+    /**
+     * Registers a user with a fresh email starting with the prefix, without signing in, and
+     * returns the address, which is also left in {@link #email}.
+     */
+    protected String registerUser(String emailPrefix) {
+        email = emailPrefix + System.nanoTime() + "@example.com";
+        register(email);
+        return email;
+    }
+
+    protected void register(String userEmail) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        restTemplate.exchange(baseUrl + "/api/auth/register", HttpMethod.POST,
+                new HttpEntity<>(new RegisterUserRequest("Test User", userEmail, "password123"), headers),
+                String.class);
+    }
+
+    protected AuthResponse login(String userEmail) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String loginJson = "{\"email\":\"" + userEmail + "\",\"password\":\"password123\"}";
+        return restTemplate.exchange(baseUrl + "/api/auth/login", HttpMethod.POST,
+                new HttpEntity<>(loginJson, headers), AuthResponse.class).getBody();
+    }
+
+    protected HttpHeaders authHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(authToken);
+        return headers;
+    }
+
+    protected <T> T post(String path, Object body, Class<T> responseType) {
+        ResponseEntity<T> response = restTemplate.exchange(baseUrl + path, HttpMethod.POST,
+                new HttpEntity<>(body, authHeaders()), responseType);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), "POST " + path + " -> " + response.getStatusCode());
+        return response.getBody();
+    }
+
+    protected void createTransaction(LocalDate date, TransactionType type, String amount, String description,
+            Long categoryId, Long bankAccountId) {
+        post("/api/transactions/", new CreateTransactionRequest(date, type, new BigDecimal(amount), description,
+                categoryId, bankAccountId), String.class);
+    }
+
+    /**
+     * Balance of the user's first bank account.
+     */
+    protected BigDecimal currentBalance() {
+        JsonNode accounts = restTemplate.exchange(baseUrl + "/api/banks/", HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), JsonNode.class).getBody();
+        return accounts.get(0).get("balance").decimalValue();
+    }
+
+    /**
+     * Polls the job until it has completed or failed, and returns it.
+     */
+    protected JsonNode awaitJob(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            JsonNode job = restTemplate.exchange(baseUrl + "/api/jobs/" + jobId, HttpMethod.GET,
+                    new HttpEntity<>(authHeaders()), JsonNode.class).getBody();
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED")) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return fail("Job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,87 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.dto.TransactionDTO.CreateTransactionRequest;
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class BalanceConcurrencyTest extends ApiTestSupport {
+
+    private Long categoryId;
+    private Long bankAccountId;
+    private BigDecimal openingBalance;
+
+    @BeforeEach
+    void setUp() {
+        authToken = registerAndLoginUser("balance");
+        categoryId = post("/api/categories/",
+                new CreateCategoryRequest("Coffee", "☕", CategoryColor.ORANGE), CategoryResponse.class).getId();
+        BankAccountResponse account = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Main Account", "12345678"),
+                BankAccountResponse.class);
+        bankAccountId = account.getId();
+        openingBalance = account.getBalance();
+    }
+
+    @Test
+    void concurrentTransactions_OnOneAccount_LoseNoBalanceUpdates() throws Exception {
+        // Arrange
+        int requests = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        LocalDate today = LocalDate.now();
+
+        // Act - income of 2.00 on even requests, expense of 1.00 on odd ones
+        List<Future<HttpStatusCode>> results = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            boolean income = i % 2 == 0;
+            CreateTransactionRequest request = new CreateTransactionRequest(today,
+                    income ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    new BigDecimal(income ? "2.00" : "1.00"), "Concurrent " + i, categoryId, bankAccountId);
+            results.add(pool.submit(() -> restTemplate.exchange(baseUrl + "/api/transactions/", HttpMethod.POST,
+                    new HttpEntity<>(request, authHeaders()), String.class).getStatusCode()));
+        }
+        for (Future<HttpStatusCode> result : results) {
+            assertEquals(HttpStatus.CREATED, result.get());
+        }
+        pool.shutdown();
+
+        // Assert - every one of the 2,000 deltas landed exactly once
+        BigDecimal expected = openingBalance.add(new BigDecimal("1000.00"));
+        assertEquals(0, expected.compareTo(currentBalance()),
+                "expected " + expected + " but was " + currentBalance());
+    }
+
+    @Test
+    void expenseExceedingBalance_IsRejectedWithoutChangingBalance() {
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + "/api/transactions/", HttpMethod.POST,
+                new HttpEntity<>(new CreateTransactionRequest(LocalDate.now(), TransactionType.EXPENSE,
+                        openingBalance.add(BigDecimal.ONE), "Too much", categoryId, bankAccountId), authHeaders()),
+                String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(0, openingBalance.compareTo(currentBalance()));
+    }
+}
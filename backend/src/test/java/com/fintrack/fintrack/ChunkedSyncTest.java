@@ -0,0 +1,254 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobStatus;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.BankAccountRepository;
+import com.fintrack.fintrack.repository.CategoryRepository;
+import com.fintrack.fintrack.repository.JobRepository;
+import com.fintrack.fintrack.repository.TransactionRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.TransactionService;
+import com.fintrack.fintrack.service.TransactionService.MockTransactionDTO;
+import com.fintrack.fintrack.service.TransactionService.SyncRequest;
+import com.fintrack.fintrack.service.TransactionSource;
+import com.fintrack.fintrack.service.TransactionSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Syncs an account that has been idle for five weeks, which with 7-day chunks makes five
+ * upstream calls. The stubbed source answers each chunk with one row dated inside it, and
+ * can be told to fail a chunk before it produces anything or after its row is stored.
+ * Sync jobs left behind by a dead worker are picked up by the application's own worker.
+ */
+@SpringBootTest(properties = {
+        "app.sync.chunk-days=7",
+        "app.sync.max-parallel-chunks=3"
+})
+@ActiveProfiles("test")
+class ChunkedSyncTest {
+    private static final int GAP_DAYS = 35;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @MockitoBean
+    private TransactionSource transactionSource;
+
+    private final List<SyncRequest> requested = new CopyOnWriteArrayList<>();
+    private final Set<LocalDateTime> failing = ConcurrentHashMap.newKeySet();
+    private final Set<LocalDateTime> failingLate = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private User user;
+    private Category category;
+    private LocalDateTime lastSync;
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = new User();
+        user.setName("Chunk User");
+        user.setEmail("chunk" + System.nanoTime() + "@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+
+        category = new Category();
+        category.setName("Other");
+        category.setIcon("📦");
+        category.setColor(CategoryColor.BLUE);
+        category.setCustom(true);
+        category.setUser(user);
+        category = categoryRepository.save(category);
+
+        lastSync = LocalDateTime.now().minusDays(GAP_DAYS).truncatedTo(ChronoUnit.SECONDS);
+        BankAccount account = new BankAccount();
+        account.setBankName("Chunk Bank");
+        account.setNickName("Idle");
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountNum("12345678");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setLastSync(lastSync);
+        account.setUser(user);
+        accountId = bankAccountRepository.save(account).getId();
+
+        doAnswer(invocation -> {
+            SyncRequest chunk = invocation.getArgument(0);
+            TransactionSource.Sink sink = invocation.getArgument(1);
+            requested.add(chunk);
+            int now = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(200);
+                if (failing.remove(chunk.lastSync())) {
+                    throw new IOException("upstream unavailable");
+                }
+                sink.accept(rowFor(chunk));
+                sink.pause();
+                if (failingLate.remove(chunk.lastSync())) {
+                    throw new IOException("stream cut off");
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return null;
+        }).when(transactionSource).generate(any(), any());
+    }
+
+    private static MockTransactionDTO rowFor(SyncRequest chunk) {
+        MockTransactionDTO row = new MockTransactionDTO();
+        row.setAmount(new BigDecimal("1.00"));
+        row.setDate(chunk.lastSync().toLocalDate().plusDays(1));
+        row.setDescription("Chunk from " + chunk.lastSync().toLocalDate());
+        row.setType("INCOME");
+        return row;
+    }
+
+    private long storedRows() {
+        return transactionRepository.findRecentResponsesByUserId(user.getId(), PageRequest.ofSize(100)).size();
+    }
+
+    @Test
+    void longGap_IsFetchedInParallelChunks() {
+        // Act
+        List<TransactionResponse> synced = transactionSyncService.syncTransactions(accountId, user);
+
+        // Assert
+        assertEquals(5, requested.size());
+        assertEquals(5, synced.size());
+        assertTrue(peakInFlight.get() > 1, "Chunks were not fetched in parallel");
+        assertTrue(peakInFlight.get() <= 3, "Chunk limit exceeded: " + peakInFlight.get());
+        assertTrue(requested.stream().allMatch(chunk -> chunk.days() == 7));
+
+        BankAccount account = bankAccountRepository.findById(accountId).orElseThrow();
+        assertEquals(0, new BigDecimal("105.00").compareTo(account.getBalance()));
+        assertTrue(account.getLastSync().isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    void failedChunk_KeepsEarlierChunksAndRetryRedoesOnlyTheRest() {
+        // Arrange
+        LocalDateTime thirdChunk = lastSync.plusDays(14);
+        failing.add(thirdChunk);
+
+        // Act
+        RuntimeException failure = assertThrows(RuntimeException.class,
+                () -> transactionSyncService.syncTransactions(accountId, user));
+
+        // Assert
+        assertTrue(failure.getMessage().contains("upstream unavailable"), failure.getMessage());
+        assertEquals(2, storedRows());
+        assertEquals(thirdChunk, bankAccountRepository.findById(accountId).orElseThrow().getLastSync());
+
+        requested.clear();
+        List<TransactionResponse> retried = transactionSyncService.syncTransactions(accountId, user);
+        assertEquals(3, requested.size());
+        assertEquals(thirdChunk, requested.stream().map(SyncRequest::lastSync)
+                .min(LocalDateTime::compareTo).orElseThrow());
+        assertEquals(3, retried.size());
+        assertEquals(5, storedRows());
+    }
+
+    @Test
+    void chunkFailingAfterItsFirstBatch_LeavesNoGapAndNoDuplicates() {
+        // Arrange
+        LocalDateTime thirdChunk = lastSync.plusDays(14);
+        failingLate.add(thirdChunk);
+
+        // Act
+        assertThrows(RuntimeException.class, () -> transactionSyncService.syncTransactions(accountId, user));
+
+        // Assert: the third chunk's stored row is dropped and lastSync stays where it starts
+        BankAccount account = bankAccountRepository.findById(accountId).orElseThrow();
+        assertEquals(thirdChunk, account.getLastSync());
+        assertEquals(2, storedRows());
+        assertEquals(0, new BigDecimal("102.00").compareTo(account.getBalance()));
+
+        List<TransactionResponse> retried = transactionSyncService.syncTransactions(accountId, user);
+        assertEquals(3, retried.size());
+        assertEquals(5, storedRows());
+        assertEquals(5, transactionRepository.findRecentResponsesByUserId(user.getId(), PageRequest.ofSize(100))
+                .stream().map(TransactionResponse::getDescription).distinct().count());
+    }
+
+    @Test
+    void chunkCutOffByDeadWorker_IsTakenBackWhenTheJobIsReclaimed() throws Exception {
+        // Arrange: a worker claimed a sync job, stored the first batch of the first chunk and
+        // died before the chunk's checkpoint or any cleanup
+        JobRequest job = new JobRequest(UUID.randomUUID().toString(), accountId, user.getId());
+        job.setStatus(JobStatus.PROCESSING);
+        job.setAttempts(1);
+        job.setLeaseOwner("crashed-node");
+        job.setLeaseExpiresAt(LocalDateTime.now().plusHours(1));
+        job = jobRepository.save(job);
+
+        SyncRequest firstChunk = new SyncRequest(accountId, lastSync, lastSync.plusDays(7),
+                new BigDecimal("100.00"), List.of(category), List.of());
+        transactionService.saveSyncBatch(firstChunk, user, List.of(rowFor(firstChunk)), false, job.getJobId());
+        assertEquals(1, storedRows());
+
+        // Act: the lease runs out and the job is claimed again
+        job.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        job = jobRepository.save(job);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (job.getStatus() == JobStatus.PROCESSING || job.getStatus() == JobStatus.SUBMITTED) {
+            assertTrue(System.currentTimeMillis() < deadline, "Reclaimed sync job did not finish in time");
+            Thread.sleep(50);
+            job = jobRepository.findById(job.getJobId()).orElseThrow();
+        }
+
+        // Assert: the first chunk is stored once, and its balance change counted once
+        assertEquals(JobStatus.COMPLETED, job.getStatus(), job.getResult());
+        assertEquals(2, job.getAttempts());
+        assertEquals(5, storedRows());
+        assertEquals(5, transactionRepository.findRecentResponsesByUserId(user.getId(), PageRequest.ofSize(100))
+                .stream().map(TransactionResponse::getDescription).distinct().count());
+        BankAccount account = bankAccountRepository.findById(accountId).orElseThrow();
+        assertEquals(0, new BigDecimal("105.00").compareTo(account.getBalance()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.dto.dashboardDTO.DashboardResponse;
+import com.fintrack.fintrack.dto.dashboardDTO.ExpenseByCategoryDTO;
+import com.fintrack.fintrack.dto.dashboardDTO.MonthlyDataDTO;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class DashboardTest extends ApiTestSupport {
+
+    @BeforeEach
+    void setUp() {
+        authToken = registerAndLoginUser("dashboard");
+    }
+
+    @Test
+    void getDashboard_AggregatesTransactionsAcrossMonthsAndCategories() {
+        // Arrange
+        CategoryResponse food = post("/api/categories/",
+                new CreateCategoryRequest("Food", "🍕", CategoryColor.RED), CategoryResponse.class);
+        CategoryResponse salary = post("/api/categories/",
+                new CreateCategoryRequest("Salary", "💰", CategoryColor.GREEN), CategoryResponse.class);
+        BankAccountResponse account = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Main Account", "12345678"),
+                BankAccountResponse.class);
+
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate lastMonth = thisMonth.minusMonths(1);
+
+        createTransaction(thisMonth, TransactionType.INCOME, "1000.00", "Dashboard test",
+                salary.getId(), account.getId());
+        createTransaction(thisMonth, TransactionType.EXPENSE, "25.50", "Dashboard test", food.getId(), account.getId());
+        createTransaction(thisMonth, TransactionType.EXPENSE, "14.50", "Dashboard test", food.getId(), account.getId());
+        createTransaction(lastMonth, TransactionType.EXPENSE, "60.00", "Dashboard test", food.getId(), account.getId());
+
+        // Act
+        ResponseEntity<DashboardResponse> response = restTemplate.exchange(baseUrl + "/api/dashboard/",
+                HttpMethod.GET, new HttpEntity<>(authHeaders()), DashboardResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        DashboardResponse dashboard = response.getBody();
+        assertNotNull(dashboard);
+
+        assertEquals(0, new BigDecimal("1000.00").compareTo(dashboard.getTotalIncome()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(dashboard.getTotalExpenses()));
+        assertEquals(0, new BigDecimal("900.00").compareTo(dashboard.getTotalSavings()));
+
+        List<MonthlyDataDTO> monthly = dashboard.getMonthlyData();
+        assertEquals(6, monthly.size());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(monthly.get(5).getIncome()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(monthly.get(5).getExpenses()));
+        assertEquals(0, new BigDecimal("60.00").compareTo(monthly.get(4).getExpenses()));
+
+        List<ExpenseByCategoryDTO> byCategory = dashboard.getExpensesByCategory();
+        assertEquals(1, byCategory.size());
+        assertEquals("Food", byCategory.get(0).getCategoryName());
+        assertEquals(CategoryColor.RED.getHexCode(), byCategory.get(0).getColor());
+        assertEquals(0, new BigDecimal("100.00").compareTo(byCategory.get(0).getAmount()));
+
+        assertEquals(4, dashboard.getRecentTransactions().size());
+        assertEquals(thisMonth, dashboard.getRecentTransactions().get(0).getDate());
+        assertEquals("Main Account", dashboard.getRecentTransactions().get(0).getBankAccount());
+    }
+
+    @Test
+    void getDashboard_NoTransactions_ReturnsZeroTotals() {
+        // Act
+        ResponseEntity<DashboardResponse> response = restTemplate.exchange(baseUrl + "/api/dashboard/",
+                HttpMethod.GET, new HttpEntity<>(authHeaders()), DashboardResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        DashboardResponse dashboard = response.getBody();
+        assertNotNull(dashboard);
+        assertEquals(0, BigDecimal.ZERO.compareTo(dashboard.getTotalIncome()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(dashboard.getTotalExpenses()));
+        assertTrue(dashboard.getExpensesByCategory().isEmpty());
+        assertTrue(dashboard.getRecentTransactions().isEmpty());
+    }
+
+    @Test
+    void getDashboard_AfterNewTransaction_ReflectsWriteImmediately() {
+        // Arrange
+        CategoryResponse food = post("/api/categories/",
+                new CreateCategoryRequest("Groceries", "🛒", CategoryColor.BLUE), CategoryResponse.class);
+        BankAccountResponse account = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Cache Account", "87654321"),
+                BankAccountResponse.class);
+        LocalDate today = LocalDate.now();
+        createTransaction(today, TransactionType.EXPENSE, "10.00", "Dashboard test", food.getId(), account.getId());
+
+        ResponseEntity<DashboardResponse> before = restTemplate.exchange(baseUrl + "/api/dashboard/",
+                HttpMethod.GET, new HttpEntity<>(authHeaders()), DashboardResponse.class);
+        assertEquals(0, new BigDecimal("10.00").compareTo(before.getBody().getTotalExpenses()));
+
+        // Act
+        createTransaction(today, TransactionType.EXPENSE, "5.00", "Dashboard test", food.getId(), account.getId());
+        ResponseEntity<DashboardResponse> after = restTemplate.exchange(baseUrl + "/api/dashboard/",
+                HttpMethod.GET, new HttpEntity<>(authHeaders()), DashboardResponse.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertEquals(0, new BigDecimal("15.00").compareTo(after.getBody().getTotalExpenses()));
+        assertEquals(2, after.getBody().getRecentTransactions().size());
+    }
+}
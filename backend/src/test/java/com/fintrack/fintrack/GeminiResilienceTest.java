@@ -0,0 +1,193 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.service.GeminiService;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls the Gemini client against a local stand-in that can answer with an error status
+ * or stall mid-stream, to check the deadlines and the circuit breaker's full cycle.
+ */
+@SpringBootTest(properties = {
+        "gemini.request-timeout=PT1S",
+        "gemini.stream-timeout=PT1S",
+        "gemini.circuit-breaker.sliding-window-size=4",
+        "gemini.circuit-breaker.minimum-calls=4",
+        "gemini.circuit-breaker.open-duration=PT0.5S",
+        "gemini.circuit-breaker.half-open-calls=1"
+})
+@ActiveProfiles("test")
+class GeminiResilienceTest {
+    private static volatile int status;
+    private static volatile boolean stall;
+    private static final AtomicInteger served = new AtomicInteger();
+    private static final HttpServer upstream = startUpstream();
+
+    @Autowired
+    private GeminiService geminiService;
+
+    @Autowired
+    private CircuitBreaker geminiCircuitBreaker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("gemini.api.url", () -> "http://localhost:" + upstream.getAddress().getPort() + "/stream?key=");
+        registry.add("gemini.api.key", () -> "test");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    private static HttpServer startUpstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/stream", exchange -> {
+                served.incrementAndGet();
+                try (exchange) {
+                    exchange.getRequestBody().readAllBytes();
+                    if (status != 200) {
+                        byte[] body = "{\"error\":\"unavailable\"}".getBytes(StandardCharsets.UTF_8);
+                        exchange.sendResponseHeaders(status, body.length);
+                        exchange.getResponseBody().write(body);
+                        return;
+                    }
+                    exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                    exchange.sendResponseHeaders(200, 0);
+                    OutputStream out = exchange.getResponseBody();
+                    out.write("data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"[]\"}]}}]}\r\n\r\n"
+                            .getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    if (stall) {
+                        Thread.sleep(5_000);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        status = 200;
+        stall = false;
+        served.set(0);
+        geminiCircuitBreaker.reset();
+    }
+
+    private List<String> call() throws Exception {
+        List<String> fragments = new ArrayList<>();
+        geminiService.streamTransactions("prompt", fragments::add);
+        return fragments;
+    }
+
+    private double transitions(String from, String to) {
+        Counter counter = meterRegistry.find("resilience4j.circuitbreaker.transitions")
+                .tags("name", "gemini", "from", from, "to", to).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void serverErrors_OpenCircuitThenProbeClosesIt() throws Exception {
+        // Arrange
+        status = 503;
+        double opened = transitions("closed", "open");
+        double closed = transitions("half_open", "closed");
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            GeminiService.UpstreamStatusException failure = assertThrows(
+                    GeminiService.UpstreamStatusException.class, this::call);
+            assertEquals(503, failure.getStatusCode());
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, geminiCircuitBreaker.getState());
+        assertThrows(CallNotPermittedException.class, this::call);
+        assertEquals(4, served.get(), "An open circuit should not reach the upstream");
+
+        status = 200;
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (geminiCircuitBreaker.getState() != CircuitBreaker.State.HALF_OPEN) {
+            assertTrue(System.currentTimeMillis() < deadline, "Circuit did not half-open");
+            Thread.sleep(50);
+        }
+        assertEquals(List.of("[]"), call());
+        assertEquals(CircuitBreaker.State.CLOSED, geminiCircuitBreaker.getState());
+
+        assertEquals(opened + 1, transitions("closed", "open"));
+        assertEquals(closed + 1, transitions("half_open", "closed"));
+        assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", "gemini").gauge());
+        assertNotNull(meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls").gauge());
+        assertNotNull(meterRegistry.find("resilience4j.ratelimiter.available.permissions").gauge());
+    }
+
+    @Test
+    void clientErrors_DoNotCountAgainstCircuit() {
+        // Arrange
+        status = 400;
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            assertThrows(GeminiService.UpstreamStatusException.class, this::call);
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, geminiCircuitBreaker.getState());
+        assertEquals(6, served.get());
+    }
+
+    @Test
+    void stalledStream_TimesOutAndLeavesThreadUsable() throws Exception {
+        // Arrange
+        stall = true;
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(HttpTimeoutException.class, this::call);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMs < 4_000, "Deadline was not enforced, call took " + elapsedMs + " ms");
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(1, geminiCircuitBreaker.getMetrics().getNumberOfFailedCalls());
+
+        stall = false;
+        assertEquals(List.of("[]"), call());
+    }
+}
@@ -0,0 +1,142 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobType;
+import com.fintrack.fintrack.repository.JobRepository;
+import com.fintrack.fintrack.service.JobQueue;
+import com.fintrack.fintrack.service.JobWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Submits syncs against small admission limits. The worker is mocked out, so accepted
+ * jobs stay SUBMITTED and keep counting against the limits.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.jobs.sync.max-queued=3",
+        "app.jobs.sync.max-per-user=2",
+        "app.jobs.sync.retry-after=PT7S"
+})
+@ActiveProfiles("test")
+class JobAdmissionTest extends ApiTestSupport {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobQueue jobQueue;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private JobWorker jobWorker;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        authToken = registerAndLoginUser("admission");
+    }
+
+    private Long connectAccount() {
+        return restTemplate.exchange(baseUrl + "/api/banks/", HttpMethod.POST,
+                new HttpEntity<>(new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Admission Account",
+                        "12345678"), authHeaders()),
+                BankAccountResponse.class).getBody().getId();
+    }
+
+    private ResponseEntity<JsonNode> submitSync(String idempotencyKey, Long bankAccountId) {
+        HttpHeaders headers = authHeaders();
+        headers.set("Idempotency-Key", idempotencyKey);
+        return restTemplate.exchange(baseUrl + "/api/jobs", HttpMethod.POST,
+                new HttpEntity<>(Map.of("bankAccountId", bankAccountId), headers), JsonNode.class);
+    }
+
+    private double rejected(String reason) {
+        Counter counter = meterRegistry.find("jobs.admission.rejected").tags("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void userOverInFlightLimit_GetsTooManyRequestsWithRetryAfter() {
+        // Arrange
+        Long firstAccount = connectAccount();
+        String firstKey = UUID.randomUUID().toString();
+        ResponseEntity<JsonNode> first = submitSync(firstKey, firstAccount);
+        ResponseEntity<JsonNode> second = submitSync(UUID.randomUUID().toString(), connectAccount());
+        double rejectedBefore = rejected("user_limit");
+
+        // Act
+        ResponseEntity<JsonNode> third = submitSync(UUID.randomUUID().toString(), connectAccount());
+        ResponseEntity<JsonNode> firstRetried = submitSync(firstKey, firstAccount);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, first.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, second.getStatusCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getStatusCode());
+        assertEquals("7", third.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(7, third.getBody().get("retryAfterSeconds").asInt());
+        assertEquals(rejectedBefore + 1, rejected("user_limit"));
+
+        // A retry of an accepted submission is not a new job, so it is never turned away
+        assertEquals(HttpStatus.ACCEPTED, firstRetried.getStatusCode());
+        assertEquals(first.getBody().get("jobId"), firstRetried.getBody().get("jobId"));
+        assertEquals(2, jobRepository.count());
+    }
+
+    @Test
+    void fullQueue_RejectsNewSubmissionsWithoutCreatingJobs() {
+        // Arrange: other users' syncs fill the queue
+        for (long id = 1_000; id < 1_003; id++) {
+            jobRepository.save(new JobRequest(UUID.randomUUID().toString(), id, id));
+        }
+        double rejectedBefore = rejected("queue_full");
+
+        // Act
+        ResponseEntity<JsonNode> response = submitSync(UUID.randomUUID().toString(), connectAccount());
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(rejectedBefore + 1, rejected("queue_full"));
+        assertEquals(3, jobRepository.count());
+        assertEquals(3, meterRegistry.get("jobs.queue.depth").tag("type", "sync").gauge().value());
+    }
+
+    @Test
+    void claim_RecordsHowLongTheJobWaited() {
+        // Arrange
+        JobRequest job = new JobRequest(UUID.randomUUID().toString(), 1_000L, 1_000L);
+        job.setAvailableAt(LocalDateTime.now().minusSeconds(5));
+        jobRepository.save(job);
+        Timer wait = meterRegistry.get("jobs.queue.wait").tag("type", "sync").timer();
+        long claimedBefore = wait.count();
+
+        // Act
+        jobQueue.claim("test-node", JobType.SYNC, 10);
+
+        // Assert
+        assertEquals(claimedBefore + 1, wait.count());
+        assertTrue(wait.max(TimeUnit.SECONDS) >= 5, "Recorded wait " + wait.max(TimeUnit.SECONDS) + "s");
+        assertEquals(0, jobQueue.depth(JobType.SYNC));
+    }
+}
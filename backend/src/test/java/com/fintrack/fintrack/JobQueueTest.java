@@ -0,0 +1,218 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.importer.ImportFormat;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobStatus;
+import com.fintrack.fintrack.model.JobType;
+import com.fintrack.fintrack.repository.JobRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.AsyncJobProcessor;
+import com.fintrack.fintrack.service.JobQueue;
+import com.fintrack.fintrack.service.JobStatusNotifier;
+import com.fintrack.fintrack.service.JobWorker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.*;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class JobQueueTest extends ApiTestSupport {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobQueue jobQueue;
+
+    @Autowired
+    private AsyncJobProcessor jobProcessor;
+
+    @Autowired
+    private JobStatusNotifier statusNotifier;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    private BankAccountResponse account;
+
+    @BeforeEach
+    void setUp() {
+        authToken = registerAndLoginUser("queue");
+        post("/api/categories/", new CreateCategoryRequest("Other", "📦", CategoryColor.BLUE),
+                CategoryResponse.class);
+        account = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Queue Account", "12345678"),
+                BankAccountResponse.class);
+    }
+
+    private String submitImport(String csv) {
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "statement.csv";
+            }
+        });
+        form.add("bankAccountId", account.getId().toString());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        headers.setBearerAuth(authToken);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+
+        ResponseEntity<JsonNode> submitted = restTemplate.exchange(baseUrl + "/api/transactions/import",
+                HttpMethod.POST, new HttpEntity<>(form, headers), JsonNode.class);
+        assertEquals(HttpStatus.ACCEPTED, submitted.getStatusCode());
+        return submitted.getBody().get("jobId").asText();
+    }
+
+    private JobRequest queuedImport(String filePath) {
+        JobRequest job = new JobRequest(UUID.randomUUID().toString(), JobType.IMPORT, account.getId(),
+                userRepository.findByEmail(email).orElseThrow().getId());
+        job.setFilePath(filePath);
+        job.setImportFormat(ImportFormat.CSV);
+        return job;
+    }
+
+    private long transactionCount() {
+        return restTemplate.exchange(baseUrl + "/api/transactions/?size=1", HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), JsonNode.class).getBody().get("totalElements").asLong();
+    }
+
+    @Test
+    void burstOfImports_DrainedByTwoWorkers_RunsEachJobExactlyOnce() throws Exception {
+        // Arrange: a second worker with its own lease owner competes with the application's one
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(4);
+        executor.initialize();
+        JobWorker otherNode = new JobWorker(jobQueue, jobProcessor, statusNotifier, taskScheduler,
+                Map.of(JobType.IMPORT, new JobWorker.Lane(executor, 4)));
+        AtomicBoolean draining = new AtomicBoolean(true);
+        Thread otherNodePoller = new Thread(() -> {
+            while (draining.get()) {
+                otherNode.poll();
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        otherNodePoller.start();
+
+        String csv = """
+                date,amount,description,type
+                2024-02-01,10.00,Refund,INCOME
+                2024-02-02,3.00,Snack,EXPENSE
+                """;
+
+        try {
+            // Act: more jobs than the old in-memory executor could hold (10 threads + 25 queued)
+            List<String> jobIds = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                jobIds.add(submitImport(csv));
+            }
+
+            // Assert
+            for (String jobId : jobIds) {
+                JsonNode job = awaitJob(jobId);
+                assertEquals("COMPLETED", job.get("status").asText(), job.toString());
+                assertEquals(1, job.get("attempts").asInt(), job.toString());
+            }
+        } finally {
+            draining.set(false);
+            otherNodePoller.join();
+            executor.shutdown();
+        }
+
+        assertEquals(100, transactionCount());
+        JsonNode accounts = restTemplate.exchange(baseUrl + "/api/banks/", HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), JsonNode.class).getBody();
+        assertEquals(0, account.getBalance().add(new BigDecimal("350.00"))
+                .compareTo(accounts.get(0).get("balance").decimalValue()));
+    }
+
+    @Test
+    void jobWithExpiredLease_IsReclaimedFromDeadWorker() throws Exception {
+        // Arrange: a worker claimed the job and then disappeared without renewing its lease
+        Path file = Files.createTempFile("fintrack-import-", ".csv");
+        Files.writeString(file, "date,amount,description,type\n2024-03-01,42.00,Paycheck,INCOME\n");
+        JobRequest job = queuedImport(file.toString());
+        job.setStatus(JobStatus.PROCESSING);
+        job.setAttempts(1);
+        job.setLeaseOwner("crashed-node");
+        job.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1));
+        job = jobRepository.save(job);
+
+        // Act
+        JsonNode finished = awaitJob(job.getJobId().toString());
+
+        // Assert
+        assertEquals("COMPLETED", finished.get("status").asText());
+        assertEquals(2, finished.get("attempts").asInt());
+        assertEquals(1, transactionCount());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void transientFailure_IsRetriedWithBackoffThenFailed() throws Exception {
+        // Arrange: the stored upload is unreadable, which fails with an I/O error every time
+        JobRequest job = jobRepository.save(queuedImport("/nonexistent/fintrack-import.csv"));
+
+        // Act
+        JsonNode finished = awaitJob(job.getJobId().toString());
+
+        // Assert
+        assertEquals("FAILED", finished.get("status").asText());
+        assertEquals(3, finished.get("attempts").asInt());
+        assertTrue(finished.get("result").asText().startsWith("Job failed:"));
+    }
+
+    @Test
+    void permanentFailure_IsNotRetried() throws Exception {
+        // Arrange: an account that does not exist fails the same way on every attempt
+        JobRequest job = queuedImport("/nonexistent/fintrack-import.csv");
+        job.setBankAccountId(Long.MAX_VALUE);
+        job = jobRepository.save(job);
+
+        // Act
+        JsonNode finished = awaitJob(job.getJobId().toString());
+
+        // Assert
+        assertEquals("FAILED", finished.get("status").asText());
+        assertEquals(1, finished.get("attempts").asInt());
+    }
+}
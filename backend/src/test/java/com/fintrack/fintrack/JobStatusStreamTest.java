@@ -0,0 +1,255 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.repository.BankAccountRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.TransactionSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Follows a sync job over server-sent events and long-polls. The transaction source is
+ * stubbed to block until the test releases it, so the job can be held in PROCESSING.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class JobStatusStreamTest extends ApiTestSupport {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private TransactionSource transactionSource;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private Long bankAccountId;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        release = latch;
+        authToken = registerAndLoginUser("stream");
+        post("/api/categories/", new CreateCategoryRequest("Other", "📦", CategoryColor.BLUE),
+                CategoryResponse.class);
+
+        // Connected two days ago, so a sync has something to generate
+        BankAccount account = new BankAccount();
+        account.setBankName("Test Bank");
+        account.setNickName("Streamed Account");
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountNum("12345678");
+        account.setBalance(BigDecimal.ZERO);
+        account.setLastSync(LocalDateTime.now().minusDays(2));
+        account.setUser(userRepository.findByEmail(email).orElseThrow());
+        bankAccountId = bankAccountRepository.save(account).getId();
+
+        doAnswer(invocation -> latch.await(20, TimeUnit.SECONDS)).when(transactionSource).generate(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    private String startSync() {
+        HttpHeaders headers = authHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        ResponseEntity<JsonNode> response = restTemplate.exchange(baseUrl + "/api/jobs", HttpMethod.POST,
+                new HttpEntity<>(Map.of("bankAccountId", bankAccountId), headers), JsonNode.class);
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        return response.getBody().get("jobId").asText();
+    }
+
+    private HttpRequest get(String path) {
+        return get(path, authToken);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private String status(String jobId) throws Exception {
+        HttpResponse<String> response = httpClient.send(get("/api/jobs/" + jobId), HttpResponse.BodyHandlers.ofString());
+        return MAPPER.readTree(response.body()).get("status").asText();
+    }
+
+    private void awaitProcessing(String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!status(jobId).equals("PROCESSING")) {
+            assertTrue(System.currentTimeMillis() < deadline, "Job was not picked up");
+            Thread.sleep(50);
+        }
+    }
+
+    private static String statusOf(String body) {
+        try {
+            return MAPPER.readTree(body).get("status").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void eventStream_PushesEachTransitionAndEndsWhenFinished() throws Exception {
+        // Arrange
+        String jobId = startSync();
+        List<String> statuses = new CopyOnWriteArrayList<>();
+
+        // Act
+        HttpResponse<Stream<String>> response = httpClient.send(get("/api/jobs/" + jobId + "/events"),
+                HttpResponse.BodyHandlers.ofLines());
+        CompletableFuture<Void> stream = CompletableFuture.runAsync(() -> {
+            try (Stream<String> lines = response.body()) {
+                lines.filter(line -> line.startsWith("data:"))
+                        .forEach(line -> statuses.add(statusOf(line.substring(5))));
+            }
+        });
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!statuses.contains("PROCESSING")) {
+            assertTrue(System.currentTimeMillis() < deadline, "No PROCESSING event, saw " + statuses);
+            Thread.sleep(20);
+        }
+        release.countDown();
+        stream.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+        assertEquals("COMPLETED", statuses.get(statuses.size() - 1), statuses.toString());
+        for (int i = 1; i < statuses.size(); i++) {
+            assertNotEquals(statuses.get(i - 1), statuses.get(i), "Repeated event: " + statuses);
+        }
+    }
+
+    @Test
+    void longPoll_ReturnsAsSoonAsStatusChanges() throws Exception {
+        // Arrange
+        String jobId = startSync();
+        awaitProcessing(jobId);
+
+        // Act
+        CompletableFuture<HttpResponse<String>> waiting = httpClient.sendAsync(
+                get("/api/jobs/" + jobId + "?waitSeconds=20&status=PROCESSING"), HttpResponse.BodyHandlers.ofString());
+        Thread.sleep(500);
+        assertFalse(waiting.isDone(), "Long-poll returned before the status changed");
+        long released = System.nanoTime();
+        release.countDown();
+        HttpResponse<String> response = waiting.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("COMPLETED", statusOf(response.body()));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - released) < 5_000);
+    }
+
+    @Test
+    void longPoll_TimesOutWithUnchangedJob() throws Exception {
+        // Arrange
+        String jobId = startSync();
+        awaitProcessing(jobId);
+
+        // Act
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(get("/api/jobs/" + jobId + "?waitSeconds=1&status=PROCESSING"),
+                HttpResponse.BodyHandlers.ofString());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("PROCESSING", statusOf(response.body()));
+        assertTrue(elapsedMs >= 900, "Returned after " + elapsedMs + " ms");
+    }
+
+    @Test
+    void manyWaitingClients_DoNotHoldRequestThreads() throws Exception {
+        // Arrange: more waiting clients than Tomcat has request threads (200)
+        String jobId = startSync();
+        awaitProcessing(jobId);
+        HttpClient clients = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<CompletableFuture<HttpResponse<String>>> waiting = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            waiting.add(clients.sendAsync(get("/api/jobs/" + jobId + "?waitSeconds=30&status=PROCESSING"),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        Thread.sleep(1_000);
+
+        // Act
+        long start = System.nanoTime();
+        String current = status(jobId);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Assert
+        assertEquals("PROCESSING", current);
+        assertTrue(elapsedMs < 2_000, "Plain request waited " + elapsedMs + " ms behind the long-polls");
+        for (CompletableFuture<HttpResponse<String>> response : waiting) {
+            assertEquals("COMPLETED", statusOf(response.get(15, TimeUnit.SECONDS).body()));
+        }
+    }
+
+    @Test
+    void anotherUsersJob_IsNotFoundOnEveryView() throws Exception {
+        // Arrange
+        String jobId = startSync();
+        String otherToken = registerAndLoginUser("stream");
+
+        // Act
+        int plain = httpClient.send(get("/api/jobs/" + jobId, otherToken),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        int longPoll = httpClient.send(get("/api/jobs/" + jobId + "?waitSeconds=5&status=SUBMITTED", otherToken),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        int events = httpClient.send(get("/api/jobs/" + jobId + "/events", otherToken),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+
+        // Assert
+        assertEquals(404, plain);
+        assertEquals(404, longPoll);
+        assertEquals(404, events);
+        assertEquals(200, httpClient.send(get("/api/jobs/" + jobId), HttpResponse.BodyHandlers.discarding())
+                .statusCode());
+    }
+}
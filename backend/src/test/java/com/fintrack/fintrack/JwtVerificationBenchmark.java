@@ -0,0 +1,90 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.config.JwtConfig;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning a bearer token into claims, as the authentication filter does.
+ * {@code perRequestParsers} is the old path: a parser built and the signature checked three
+ * times (email, subject, expiry). {@code reusedParser} verifies once with the shared parser,
+ * and {@code verifiedCache} is a repeat of a token that has already been verified.
+ *
+ * <p>Not part of the test run. After {@code mvn test-compile}, run {@link #main} with the
+ * test classpath, e.g.
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.fintrack.fintrack.JwtVerificationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+    private SecretKey key;
+    private String token;
+    private JwtService uncached;
+    private JwtService cached;
+
+    @Setup
+    public void setUp() {
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        uncached = new JwtService(key, config(0));
+        cached = new JwtService(key, config(10_000));
+
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("bench@example.com");
+        token = cached.generateToken(user);
+        cached.parseClaims(token);
+    }
+
+    private JwtConfig config(long verifiedCacheSize) {
+        JwtConfig config = new JwtConfig();
+        config.setSecret(Encoders.BASE64.encode(key.getEncoded()));
+        config.setExpirationMinutes(60L);
+        config.setVerifiedCacheSize(verifiedCacheSize);
+        return config;
+    }
+
+    private Claims parseWithNewParser() {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public void perRequestParsers(Blackhole blackhole) {
+        blackhole.consume(parseWithNewParser().get("email", String.class));
+        blackhole.consume(parseWithNewParser().getSubject());
+        blackhole.consume(parseWithNewParser().getExpiration().before(new Date()));
+    }
+
+    @Benchmark
+    public Claims reusedParser() {
+        return uncached.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims verifiedCache() {
+        return cached.parseClaims(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,162 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.exception.TooManyRequestsException;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.security.OffloadedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Signs in against a low bcrypt strength and a small per-email allowance, and drives the
+ * hashing pool directly with an encoder that blocks until released.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.auth.bcrypt.strength=5",
+        "app.auth.login.per-email.capacity=3",
+        "app.auth.login.per-email.refill=PT1H"
+})
+@ActiveProfiles("test")
+class PasswordHashingTest extends ApiTestSupport {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        email = "hashing" + System.nanoTime() + "@example.com";
+    }
+
+    private User createUser(String hash) {
+        User user = new User();
+        user.setName("Hashing User");
+        user.setEmail(email);
+        user.setPassword(hash);
+        return userRepository.save(user);
+    }
+
+    private ResponseEntity<String> login(String loginEmail, String password) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String loginJson = "{\"email\":\"" + loginEmail + "\",\"password\":\"" + password + "\"}";
+        return restTemplate.exchange(baseUrl + "/api/auth/login", HttpMethod.POST,
+                new HttpEntity<>(loginJson, headers), String.class);
+    }
+
+    private long hashed(String operation) {
+        Timer timer = meterRegistry.find("auth.password.hash").tag("operation", operation).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void signIn_RehashesPasswordStoredAtLowerStrength() {
+        // Arrange
+        User user = createUser(new BCryptPasswordEncoder(4).encode("password123"));
+        long matchedBefore = hashed("matches");
+
+        // Act
+        ResponseEntity<String> first = login(email, "password123");
+
+        // Assert
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        String rehashed = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(rehashed.startsWith("$2a$05$"), "Stored hash " + rehashed);
+        assertEquals(HttpStatus.OK, login(email, "password123").getStatusCode());
+        assertEquals(rehashed, userRepository.findById(user.getId()).orElseThrow().getPassword());
+        assertEquals(matchedBefore + 2, hashed("matches"));
+        assertNotNull(meterRegistry.get("auth.password.queue.depth").gauge());
+    }
+
+    @Test
+    void repeatedSignInsForOneEmail_AreThrottled() {
+        // Arrange
+        createUser(new BCryptPasswordEncoder(5).encode("password123"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.UNAUTHORIZED, login(email, "wrongpassword").getStatusCode());
+        }
+
+        // Act
+        ResponseEntity<String> throttled = login(email.toUpperCase(), "password123");
+        ResponseEntity<String> otherEmail = login("other" + email, "password123");
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getStatusCode());
+        long retryAfter = Long.parseLong(throttled.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter > 3_000 && retryAfter <= 3_600, "Retry-After " + retryAfter);
+        assertEquals(HttpStatus.UNAUTHORIZED, otherEmail.getStatusCode());
+    }
+
+    @Test
+    void saturatedHashingPool_TurnsCallersAway() throws Exception {
+        // Arrange: one thread, held by the first hash, and room for one more in the queue
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(blocking, 1, 1,
+                Duration.ofMillis(100), Duration.ofSeconds(5), registry);
+
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (registry.get("auth.password.queue.depth").gauge().value() < 1) {
+                assertTrue(System.currentTimeMillis() < deadline, "Second hash was never queued");
+                Thread.sleep(10);
+            }
+
+            // Act
+            TooManyRequestsException full = assertThrows(TooManyRequestsException.class,
+                    () -> encoder.encode("third"));
+            Thread.sleep(200);
+            release.countDown();
+
+            // Assert
+            assertEquals(Duration.ofSeconds(5), full.getRetryAfter());
+            assertEquals("hash:first", running.get(5, TimeUnit.SECONDS));
+            ExecutionException expired = assertThrows(ExecutionException.class,
+                    () -> queued.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TooManyRequestsException.class, expired.getCause());
+            assertEquals(1, registry.get("auth.password.rejected").tag("reason", "queue_full").counter().count());
+            assertEquals(1, registry.get("auth.password.rejected").tag("reason", "queue_timeout").counter().count());
+            assertEquals(1, registry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fintrack.fintrack.config.RateLimitConfig;
+import com.fintrack.fintrack.repository.RateLimitBucketRepository;
+import com.fintrack.fintrack.service.DatabaseRequestRateLimiter;
+import com.fintrack.fintrack.service.LocalRequestRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls rate-limited routes against small per-user allowances, and drives both bucket
+ * stores directly.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.routes.dashboard.pattern=/api/dashboard/**",
+        "app.rate-limit.routes.dashboard.capacity=3",
+        "app.rate-limit.routes.dashboard.refill=PT1H",
+        "app.rate-limit.routes.search.pattern=/api/transactions/search",
+        "app.rate-limit.routes.search.capacity=2",
+        "app.rate-limit.routes.search.refill=PT1H"
+})
+@ActiveProfiles("test")
+class RateLimitTest extends ApiTestSupport {
+
+    @Autowired
+    private RateLimitConfig rateLimitConfig;
+
+    @Autowired
+    private RateLimitBucketRepository bucketRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ResponseEntity<JsonNode> get(String path, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(baseUrl + path, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+    }
+
+    @Test
+    void userOverRouteLimit_GetsTooManyRequestsWithRetryAfter() {
+        // Arrange
+        String token = registerAndLoginUser("ratelimit");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK, get("/api/dashboard/", token).getStatusCode());
+        }
+
+        // Act
+        ResponseEntity<JsonNode> limited = get("/api/dashboard/", token);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getStatusCode());
+        long retryAfter = Long.parseLong(limited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter > 3_000 && retryAfter <= 3_600, "Retry-After " + retryAfter);
+        assertEquals(retryAfter, limited.getBody().get("retryAfterSeconds").asLong());
+
+        // Other routes and other users keep their own allowance
+        assertEquals(HttpStatus.OK, get("/api/transactions/search?query=coffee", token).getStatusCode());
+        assertEquals(HttpStatus.OK, get("/api/banks/", token).getStatusCode());
+        assertEquals(HttpStatus.OK, get("/api/dashboard/", registerAndLoginUser("ratelimit")).getStatusCode());
+    }
+
+    @Test
+    void localBuckets_HandOutExactlyTheirCapacityUnderContention() throws Exception {
+        // Arrange
+        LocalRequestRateLimiter limiter = new LocalRequestRateLimiter(rateLimitConfig);
+        int callers = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Duration>> attempts = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < callers; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return limiter.tryAcquire("7:dashboard", 10, Duration.ofHours(1));
+                }));
+            }
+            start.countDown();
+
+            // Assert
+            int granted = 0;
+            for (Future<Duration> attempt : attempts) {
+                if (attempt.get().isZero()) {
+                    granted++;
+                }
+            }
+            assertEquals(10, granted);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void databaseBuckets_AreSharedBetweenNodes() {
+        // Arrange: two nodes over the same table
+        DatabaseRequestRateLimiter nodeA = new DatabaseRequestRateLimiter(bucketRepository, transactionManager,
+                rateLimitConfig);
+        DatabaseRequestRateLimiter nodeB = new DatabaseRequestRateLimiter(bucketRepository, transactionManager,
+                rateLimitConfig);
+        String key = UUID.randomUUID() + ":search";
+
+        // Act
+        List<Duration> waits = List.of(
+                nodeA.tryAcquire(key, 3, Duration.ofMinutes(1)),
+                nodeB.tryAcquire(key, 3, Duration.ofMinutes(1)),
+                nodeA.tryAcquire(key, 3, Duration.ofMinutes(1)),
+                nodeB.tryAcquire(key, 3, Duration.ofMinutes(1)));
+
+        // Assert
+        assertTrue(waits.get(0).isZero() && waits.get(1).isZero() && waits.get(2).isZero(), waits.toString());
+        assertTrue(waits.get(3).compareTo(Duration.ofSeconds(50)) > 0, waits.toString());
+        assertEquals(0, bucketRepository.findById(key).orElseThrow().getTokens());
+    }
+}
@@ -0,0 +1,146 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.dto.userDTO.AuthResponse;
+import com.fintrack.fintrack.dto.userDTO.RefreshTokenRequest;
+import com.fintrack.fintrack.model.AuthSession;
+import com.fintrack.fintrack.repository.AuthSessionRepository;
+import com.fintrack.fintrack.service.SessionRevocations;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Signs in once and then lives off refresh tokens, checking that revoked sessions are
+ * turned away from memory rather than by a query per request.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RefreshTokenTest extends ApiTestSupport {
+
+    @Autowired
+    private AuthSessionRepository authSessionRepository;
+
+    @Autowired
+    private SessionRevocations sessionRevocations;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        registerUser("refresh");
+    }
+
+    private AuthResponse login() {
+        return login(email);
+    }
+
+    private ResponseEntity<AuthResponse> refresh(String refreshToken) {
+        return restTemplate.exchange(baseUrl + "/api/auth/refresh", HttpMethod.POST,
+                new HttpEntity<>(new RefreshTokenRequest(refreshToken)), AuthResponse.class);
+    }
+
+    private HttpStatusCode logout(String refreshToken) {
+        return restTemplate.exchange(baseUrl + "/api/auth/logout", HttpMethod.POST,
+                new HttpEntity<>(new RefreshTokenRequest(refreshToken)), Void.class).getStatusCode();
+    }
+
+    private HttpStatusCode getBanks(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(baseUrl + "/api/banks/", HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getStatusCode();
+    }
+
+    private long passwordChecks() {
+        Timer timer = meterRegistry.find("auth.password.hash").tag("operation", "matches").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void refresh_IssuesNewTokensWithoutCheckingThePassword() {
+        // Arrange
+        AuthResponse signedIn = login();
+        long checksBefore = passwordChecks();
+
+        // Act
+        ResponseEntity<AuthResponse> refreshed = refresh(signedIn.getRefreshToken());
+
+        // Assert
+        assertEquals(HttpStatus.OK, refreshed.getStatusCode());
+        assertEquals(email, refreshed.getBody().getUser().getEmail());
+        assertNotEquals(signedIn.getRefreshToken(), refreshed.getBody().getRefreshToken());
+        assertEquals(HttpStatus.OK, getBanks(refreshed.getBody().getToken()));
+        assertEquals(checksBefore, passwordChecks());
+        assertEquals(HttpStatus.UNAUTHORIZED, getBanks(refreshed.getBody().getRefreshToken()));
+    }
+
+    @Test
+    void reusedRefreshToken_EndsTheSession() {
+        // Arrange
+        AuthResponse signedIn = login();
+        AuthResponse refreshed = refresh(signedIn.getRefreshToken()).getBody();
+
+        // Act
+        ResponseEntity<AuthResponse> replayed = refresh(signedIn.getRefreshToken());
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, replayed.getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(refreshed.getRefreshToken()).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, getBanks(refreshed.getToken()));
+        assertEquals(HttpStatus.UNAUTHORIZED, getBanks(signedIn.getToken()));
+    }
+
+    @Test
+    void logout_EndsOnlyThatSession() {
+        // Arrange
+        AuthResponse laptop = login();
+        AuthResponse phone = login();
+        double confirmationsBefore = meterRegistry.get("auth.revocations.confirmations").counter().count();
+
+        // Act
+        HttpStatusCode loggedOut = logout(laptop.getRefreshToken());
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, loggedOut);
+        assertEquals(HttpStatus.UNAUTHORIZED, getBanks(laptop.getToken()));
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(laptop.getRefreshToken()).getStatusCode());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(HttpStatus.OK, getBanks(phone.getToken()));
+        }
+        assertEquals(confirmationsBefore, meterRegistry.get("auth.revocations.confirmations").counter().count());
+    }
+
+    @Test
+    void revocationsFromTheTable_AreLoadedByRebuildAndPoll() {
+        // Arrange: sessions revoked by an earlier run and by another node
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+        AuthSession before = new AuthSession(1L, UUID.randomUUID(), expiresAt);
+        before.setRevokedAt(LocalDateTime.now());
+        UUID revokedBefore = authSessionRepository.save(before).getId();
+        UUID active = authSessionRepository.save(new AuthSession(1L, UUID.randomUUID(), expiresAt)).getId();
+        sessionRevocations.rebuild();
+        AuthSession elsewhere = authSessionRepository.save(new AuthSession(1L, UUID.randomUUID(), expiresAt));
+        assertFalse(sessionRevocations.isRevoked(elsewhere.getId()));
+        elsewhere.setRevokedAt(LocalDateTime.now());
+        authSessionRepository.save(elsewhere);
+
+        // Act
+        sessionRevocations.poll();
+
+        // Assert
+        assertTrue(sessionRevocations.isRevoked(revokedBefore));
+        assertTrue(sessionRevocations.isRevoked(elsewhere.getId()));
+        assertFalse(sessionRevocations.isRevoked(active));
+    }
+}
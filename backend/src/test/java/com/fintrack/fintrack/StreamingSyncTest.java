@@ -0,0 +1,209 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.BankAccountRepository;
+import com.fintrack.fintrack.repository.CategoryRepository;
+import com.fintrack.fintrack.repository.TransactionRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.TransactionSyncService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Syncs against a local stand-in for {@code streamGenerateContent} that splits the model
+ * output at awkward places (inside a number, between objects, around a code fence) and
+ * pauses mid-stream, to check that the first rows are stored before the response has finished.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StreamingSyncTest {
+    private static final String YESTERDAY = LocalDate.now().minusDays(1).toString();
+    private static final List<String> FRAGMENTS = List.of(
+            "```json\n[{\"amount\":12",
+            ".50,\"date\":\"" + YESTERDAY + "\",\"description\":\"Coffee beans\",\"type\":\"EXPENSE\"},",
+            "{\"amount\":100.00,\"date\":\"" + YESTERDAY + "\",\"description\":\"Refund\",\"type\":\"INCOME\"}");
+    private static final String LAST_FRAGMENT = "]\n```";
+
+    private static volatile boolean truncate;
+    private static volatile CountDownLatch resume;
+    private static final HttpServer upstream = startUpstream();
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User user;
+    private Long accountId;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("gemini.api.url", () -> "http://localhost:" + upstream.getAddress().getPort() + "/stream?key=");
+        registry.add("gemini.api.key", () -> "test");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    private static HttpServer startUpstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/stream", exchange -> {
+                try (exchange) {
+                    exchange.getRequestBody().readAllBytes();
+                    exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                    exchange.sendResponseHeaders(200, 0);
+                    OutputStream out = exchange.getResponseBody();
+                    for (String fragment : FRAGMENTS) {
+                        writeEvent(out, fragment);
+                    }
+                    if (truncate) {
+                        return;
+                    }
+                    // Hold the rest of the response back until the test has looked at the database
+                    resume.await(10, TimeUnit.SECONDS);
+                    writeEvent(out, LAST_FRAGMENT);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeEvent(OutputStream out, String text) throws IOException {
+        String escaped = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        String event = "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + escaped + "\"}]}}]}\r\n\r\n";
+        out.write(event.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    @BeforeEach
+    void setUp() {
+        truncate = false;
+        resume = new CountDownLatch(1);
+
+        user = new User();
+        user.setName("Stream User");
+        user.setEmail("stream" + System.nanoTime() + "@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Other");
+        category.setIcon("📦");
+        category.setColor(CategoryColor.BLUE);
+        category.setCustom(true);
+        category.setUser(user);
+        categoryRepository.save(category);
+
+        BankAccount account = new BankAccount();
+        account.setBankName("Stream Bank");
+        account.setNickName("Streamed");
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountNum("12345678");
+        account.setBalance(new BigDecimal("50.00"));
+        account.setLastSync(LocalDateTime.now().minusDays(2));
+        account.setUser(user);
+        accountId = bankAccountRepository.save(account).getId();
+    }
+
+    private long storedRows() {
+        return transactionRepository.findRecentResponsesByUserId(user.getId(),
+                PageRequest.ofSize(10)).size();
+    }
+
+    @Test
+    void streamedSync_StoresRowsBeforeResponseEnds() throws Exception {
+        // Act
+        CompletableFuture<List<TransactionResponse>> sync = CompletableFuture
+                .supplyAsync(() -> transactionSyncService.syncTransactions(accountId, user));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (storedRows() == 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Rows were not stored while the stream was open");
+            assertFalse(sync.isDone(), "Sync finished before the stream was released");
+            Thread.sleep(20);
+        }
+        resume.countDown();
+        List<TransactionResponse> synced = sync.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, synced.size());
+        assertEquals(0, new BigDecimal("12.50").compareTo(synced.get(0).getAmount()));
+        assertEquals("Refund", synced.get(1).getDescription());
+        BankAccount account = bankAccountRepository.findById(accountId).orElseThrow();
+        assertEquals(0, new BigDecimal("137.50").compareTo(account.getBalance()));
+        assertEquals(LocalDate.now(), account.getLastSync().toLocalDate());
+    }
+
+    @Test
+    void truncatedStream_FailsAndRetryStoresEachRowOnce() throws Exception {
+        // Arrange
+        truncate = true;
+        LocalDateTime lastSync = bankAccountRepository.findById(accountId).orElseThrow().getLastSync();
+
+        // Act
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> CompletableFuture
+                .supplyAsync(() -> transactionSyncService.syncTransactions(accountId, user))
+                .get(10, TimeUnit.SECONDS));
+
+        // Assert: the row stored mid-stream is gone again and lastSync has not moved
+        assertTrue(failure.getCause().getMessage().contains("Failed to sync"), failure.getCause().getMessage());
+        assertEquals(0, storedRows());
+        BankAccount account = bankAccountRepository.findById(accountId).orElseThrow();
+        assertEquals(lastSync, account.getLastSync());
+        assertEquals(0, new BigDecimal("50.00").compareTo(account.getBalance()));
+
+        truncate = false;
+        resume.countDown();
+        assertEquals(2, transactionSyncService.syncTransactions(accountId, user).size());
+        assertEquals(2, storedRows());
+    }
+}
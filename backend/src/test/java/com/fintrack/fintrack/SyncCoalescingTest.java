@@ -0,0 +1,168 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.exception.ResourceNotFoundException;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobType;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.BankAccountRepository;
+import com.fintrack.fintrack.repository.JobRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.JobQueue;
+import com.fintrack.fintrack.service.JobService;
+import com.fintrack.fintrack.service.JobWorker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Submits syncs for one account with different idempotency keys. The worker is mocked out,
+ * so the tests drive the queue by hand and a job stays unfinished until they release it.
+ */
+@SpringBootTest(properties = "app.jobs.sync.max-per-user=100")
+@ActiveProfiles("test")
+class SyncCoalescingTest {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobQueue jobQueue;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @MockitoBean
+    private JobWorker jobWorker;
+
+    private User user;
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        user = createUser();
+        BankAccount account = new BankAccount();
+        account.setBankName("Test Bank");
+        account.setNickName("Coalesced");
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountNum("12345678");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setLastSync(LocalDateTime.now().minusDays(3));
+        account.setUser(user);
+        accountId = bankAccountRepository.save(account).getId();
+    }
+
+    private User createUser() {
+        User created = new User();
+        created.setName("Coalesce User");
+        created.setEmail("coalesce" + System.nanoTime() + "@example.com");
+        created.setPassword("password123");
+        return userRepository.save(created);
+    }
+
+    private UUID submit() {
+        return jobService.initiateSyncJob(UUID.randomUUID().toString(), accountId, user.getId());
+    }
+
+    private JobRequest claim() {
+        List<JobRequest> claimed = jobQueue.claim("test-node", JobType.SYNC, 1);
+        assertEquals(1, claimed.size());
+        return claimed.get(0);
+    }
+
+    @Test
+    void concurrentRequestsForSameAccount_AttachToOneJob() throws Exception {
+        // Arrange
+        int requests = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UUID>> submitted = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < requests; i++) {
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return submit();
+                }));
+            }
+            start.countDown();
+
+            // Assert
+            Set<UUID> jobIds = new HashSet<>();
+            for (Future<UUID> jobId : submitted) {
+                jobIds.add(jobId.get());
+            }
+            assertEquals(1, jobIds.size(), "Expected one job, got " + jobIds);
+            assertEquals(1, jobRepository.count());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void runningAndRetryingSync_KeepsTheAccountUntilItFinishes() {
+        // Arrange
+        UUID first = submit();
+        JobRequest running = claim();
+
+        // Act & Assert: attaches while the job runs and while it waits to be retried
+        assertEquals(first, submit());
+        assertTrue(jobQueue.fail(running, "test-node", "upstream unavailable", true));
+        assertEquals(first, submit());
+
+        // Once it has finished the next request starts a fresh sync
+        JobRequest retried = jobRepository.findById(first).orElseThrow();
+        retried.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        jobRepository.save(retried);
+        assertTrue(jobQueue.complete(claim(), "test-node", "done"));
+        UUID next = submit();
+        assertNotEquals(first, next);
+        assertEquals(Set.of(first, next),
+                jobRepository.findAll().stream().map(JobRequest::getJobId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void syncForAnotherUsersAccount_IsNotFoundAndDoesNotClaimTheAccount() {
+        // Arrange
+        User other = createUser();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> jobService.initiateSyncJob(UUID.randomUUID().toString(), accountId, other.getId()));
+        assertEquals(0, jobRepository.count());
+
+        // The owner's sync goes ahead as usual
+        UUID first = submit();
+        assertThrows(ResourceNotFoundException.class,
+                () -> jobService.initiateSyncJob(UUID.randomUUID().toString(), accountId, other.getId()));
+        assertEquals(first, submit());
+        assertEquals(1, jobRepository.count());
+    }
+}
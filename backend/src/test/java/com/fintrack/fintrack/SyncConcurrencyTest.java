@@ -0,0 +1,195 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.JobRequest;
+import com.fintrack.fintrack.model.JobStatus;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.BankAccountRepository;
+import com.fintrack.fintrack.repository.CategoryRepository;
+import com.fintrack.fintrack.repository.JobRepository;
+import com.fintrack.fintrack.repository.TransactionRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.JobService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs hundreds of sync jobs against a local stand-in for the Gemini API that takes a
+ * while to answer. The stub records how many requests it is serving at once, which shows
+ * both that syncs are not capped by a thread pool (or by the database connection pool,
+ * since no connection is held during the call) and that the upstream limit holds.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.jobs.sync.virtual-threads=true",
+        "app.jobs.sync.max-in-flight=500",
+        // One user owns every account here; admission is covered by JobAdmissionTest
+        "app.jobs.sync.max-per-user=1000",
+        "gemini.max-concurrent-requests=" + SyncConcurrencyTest.UPSTREAM_LIMIT
+})
+@ActiveProfiles("test")
+class SyncConcurrencyTest {
+    static final int UPSTREAM_LIMIT = 100;
+    private static final int ACCOUNTS = 300;
+    private static final int ROWS_PER_SYNC = 3;
+    private static final long UPSTREAM_LATENCY_MS = 300;
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static final AtomicInteger served = new AtomicInteger();
+    private static final HttpServer upstream = startUpstream();
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("gemini.api.url", () -> "http://localhost:" + upstream.getAddress().getPort() + "/generate?key=");
+        registry.add("gemini.api.key", () -> "test");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    private static HttpServer startUpstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/generate", exchange -> {
+                int now = inFlight.incrementAndGet();
+                peakInFlight.accumulateAndGet(now, Math::max);
+                try {
+                    exchange.getRequestBody().readAllBytes();
+                    Thread.sleep(UPSTREAM_LATENCY_MS);
+                    byte[] body = geminiResponse().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                    served.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                    exchange.close();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Server-sent events in the shape of {@code streamGenerateContent?alt=sse}, one generated
+     * row per event.
+     */
+    private static String geminiResponse() {
+        StringBuilder events = new StringBuilder();
+        for (int i = 0; i < ROWS_PER_SYNC; i++) {
+            String row = (i == 0 ? "[" : ",") + "{\"amount\":10.00,\"date\":\"" + LocalDate.now().minusDays(1)
+                    + "\",\"description\":\"Stub row " + i + "\",\"type\":\"INCOME\"}"
+                    + (i == ROWS_PER_SYNC - 1 ? "]" : "");
+            events.append("data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"")
+                    .append(row.replace("\"", "\\\"")).append("\"}]}}]}\n\n");
+        }
+        return events.toString();
+    }
+
+    @Test
+    void hundredsOfConcurrentSyncs_AreBoundedByUpstreamLimitNotThreads() throws Exception {
+        // Arrange
+        User user = new User();
+        user.setName("Sync User");
+        user.setEmail("sync" + System.nanoTime() + "@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+
+        Category category = new Category();
+        category.setName("Other");
+        category.setIcon("📦");
+        category.setColor(CategoryColor.BLUE);
+        category.setCustom(true);
+        category.setUser(user);
+        categoryRepository.save(category);
+
+        List<UUID> jobIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            BankAccount account = new BankAccount();
+            account.setBankName("Stub Bank");
+            account.setNickName("Account " + i);
+            account.setAccountType(AccountType.CHECKING);
+            account.setAccountNum("12345678");
+            account.setBalance(new BigDecimal("100.00"));
+            account.setLastSync(LocalDateTime.now().minusDays(3));
+            account.setUser(user);
+            Long accountId = bankAccountRepository.save(account).getId();
+
+            // Act
+            jobIds.add(jobService.initiateSyncJob(UUID.randomUUID().toString(), accountId, user.getId()));
+        }
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 60_000;
+        for (UUID jobId : jobIds) {
+            JobRequest job = jobRepository.findById(jobId).orElseThrow();
+            while (job.getStatus() == JobStatus.SUBMITTED || job.getStatus() == JobStatus.PROCESSING) {
+                assertTrue(System.currentTimeMillis() < deadline, "Sync jobs did not finish in time");
+                Thread.sleep(50);
+                job = jobRepository.findById(jobId).orElseThrow();
+            }
+            assertEquals(JobStatus.COMPLETED, job.getStatus(), job.getResult());
+        }
+
+        assertEquals(ACCOUNTS, served.get());
+        assertTrue(peakInFlight.get() > 10,
+                "Expected more concurrent upstream calls than the old 10-thread pool, saw " + peakInFlight.get());
+        assertTrue(peakInFlight.get() <= UPSTREAM_LIMIT,
+                "Upstream limit exceeded: " + peakInFlight.get() + " > " + UPSTREAM_LIMIT);
+        assertEquals(ACCOUNTS * ROWS_PER_SYNC, transactionRepository.count());
+    }
+}
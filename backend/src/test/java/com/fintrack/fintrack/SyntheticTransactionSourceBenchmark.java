@@ -0,0 +1,80 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.service.SyntheticTransactionSource;
+import com.fintrack.fintrack.service.TransactionService.MockTransactionDTO;
+import com.fintrack.fintrack.service.TransactionService.SyncRequest;
+import com.fintrack.fintrack.service.TransactionSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second produced by the synthetic transaction source on its own, with nothing
+ * stored: a year of an account at 100 transactions a day. The {@code rows} counter gives
+ * the generated rows per second next to the syncs per second.
+ *
+ * <p>Not part of the test run. After {@code mvn test-compile}, run {@link #main} with the
+ * test classpath, e.g.
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.fintrack.fintrack.SyntheticTransactionSourceBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SyntheticTransactionSourceBenchmark {
+    private static final LocalDateTime LAST_SYNC = LocalDateTime.of(2025, 1, 15, 9, 30);
+
+    private TransactionSource source;
+    private SyncRequest request;
+
+    @Setup
+    public void setUp() {
+        source = new SyntheticTransactionSource(42, 100, new BigDecimal("60.00"), new BigDecimal("4000.00"));
+        request = new SyncRequest(7L, LAST_SYNC, LAST_SYNC.plusDays(365), new BigDecimal("100000000.00"),
+                List.of(category(1L, "Groceries"), category(2L, "Rent"), category(3L, "Other")), List.of());
+    }
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @Benchmark
+    public void generate(Rows counter, Blackhole blackhole) throws Exception {
+        source.generate(request, new TransactionSource.Sink() {
+            @Override
+            public void accept(MockTransactionDTO transaction) {
+                counter.rows++;
+                blackhole.consume(transaction);
+            }
+
+            @Override
+            public void pause() {
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SyntheticTransactionSourceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,167 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.dto.BudgetDTO.BudgetResponse;
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.BudgetPeriod;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.TransactionType;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.BankAccountRepository;
+import com.fintrack.fintrack.repository.CategoryRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.SyntheticTransactionSource;
+import com.fintrack.fintrack.service.TransactionService.MockTransactionDTO;
+import com.fintrack.fintrack.service.TransactionService.SyncRequest;
+import com.fintrack.fintrack.service.TransactionSource;
+import com.fintrack.fintrack.service.TransactionSyncService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs syncs with the {@code synthetic} profile, which swaps the LLM for the local generator
+ * but keeps the real persistence path.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles({ "test", "synthetic" })
+class SyntheticTransactionSourceTest {
+    private static final LocalDateTime LAST_SYNC = LocalDateTime.of(2025, 1, 15, 9, 30);
+
+    @Autowired
+    private TransactionSource transactionSource;
+
+    @Autowired
+    private TransactionSyncService transactionSyncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private static Category category(Long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private static SyncRequest request(long days, String balance, List<BudgetResponse> budgets) {
+        return new SyncRequest(7L, LAST_SYNC, LAST_SYNC.plusDays(days), new BigDecimal(balance),
+                List.of(category(1L, "Groceries"), category(2L, "Rent"), category(3L, "Other")), budgets);
+    }
+
+    private static List<MockTransactionDTO> generate(TransactionSource source, SyncRequest request) throws Exception {
+        List<MockTransactionDTO> transactions = new ArrayList<>();
+        source.generate(request, new TransactionSource.Sink() {
+            @Override
+            public void accept(MockTransactionDTO transaction) {
+                transactions.add(transaction);
+            }
+
+            @Override
+            public void pause() {
+            }
+        });
+        return transactions;
+    }
+
+    @Test
+    void sameSeed_GeneratesSameTransactionsWithinBudgets() throws Exception {
+        // Arrange
+        List<BudgetResponse> budgets = List.of(
+                new BudgetResponse(1L, "Groceries", "🛒", new BigDecimal("900.00"), BigDecimal.ZERO, BudgetPeriod.MONTHLY),
+                new BudgetResponse(2L, "Rent", "🏠", new BigDecimal("36500.00"), BigDecimal.ZERO, BudgetPeriod.YEARLY));
+        SyncRequest request = request(365, "1000000.00", budgets);
+
+        // Act
+        List<MockTransactionDTO> first = generate(transactionSource, request);
+        List<MockTransactionDTO> second = generate(transactionSource, request);
+        List<MockTransactionDTO> otherSeed = generate(
+                new SyntheticTransactionSource(7, 5, new BigDecimal("60.00"), new BigDecimal("4000.00")), request);
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, otherSeed);
+        assertEquals(12, first.stream().filter(t -> t.getType().equals("INCOME")).count());
+        assertTrue(first.stream().allMatch(t -> t.getDate().isAfter(LAST_SYNC.toLocalDate())
+                && !t.getDate().isAfter(LAST_SYNC.toLocalDate().plusDays(365))));
+
+        // Groceries at 30.00/day and rent at 100.00/day should land within 10% of budget over a year
+        Map<Long, BigDecimal> spent = first.stream()
+                .filter(t -> t.getType().equals(TransactionType.EXPENSE.name()))
+                .collect(Collectors.groupingBy(MockTransactionDTO::getCategoryId,
+                        Collectors.reducing(BigDecimal.ZERO, MockTransactionDTO::getAmount, BigDecimal::add)));
+        assertEquals(10_950, spent.get(1L).doubleValue(), 1_095);
+        assertEquals(36_500, spent.get(2L).doubleValue(), 3_650);
+    }
+
+    @Test
+    void lowBalance_NeverGoesNegative() throws Exception {
+        // Act
+        List<MockTransactionDTO> transactions = generate(transactionSource, request(10, "25.00", List.of()));
+
+        // Assert
+        BigDecimal balance = new BigDecimal("25.00");
+        for (MockTransactionDTO t : transactions) {
+            balance = t.getType().equals("INCOME") ? balance.add(t.getAmount()) : balance.subtract(t.getAmount());
+            assertTrue(balance.signum() >= 0, "Balance went negative: " + balance);
+        }
+    }
+
+    @Test
+    void syncWithSyntheticSource_PersistsTransactionsAndBalance() {
+        // Arrange
+        User user = new User();
+        user.setName("Synthetic User");
+        user.setEmail("synthetic" + System.nanoTime() + "@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+
+        Category other = new Category();
+        other.setName("Other");
+        other.setIcon("📦");
+        other.setColor(CategoryColor.BLUE);
+        other.setCustom(true);
+        other.setUser(user);
+        categoryRepository.save(other);
+
+        BankAccount account = new BankAccount();
+        account.setBankName("Synthetic Bank");
+        account.setNickName("Generated");
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountNum("12345678");
+        account.setBalance(new BigDecimal("5000.00"));
+        account.setLastSync(LocalDateTime.now().minusDays(60));
+        account.setUser(user);
+        Long accountId = bankAccountRepository.save(account).getId();
+
+        // Act
+        List<TransactionResponse> synced = transactionSyncService.syncTransactions(accountId, user);
+
+        // Assert
+        assertTrue(synced.size() > 250, "Expected about 5 rows a day, got " + synced.size());
+        BigDecimal delta = synced.stream()
+                .map(t -> t.getTransactionType().equals("INCOME") ? t.getAmount() : t.getAmount().negate())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BankAccount stored = bankAccountRepository.findById(accountId).orElseThrow();
+        assertEquals(0, new BigDecimal("5000.00").add(delta).compareTo(stored.getBalance()));
+        assertTrue(transactionSyncService.syncTransactions(accountId, user).isEmpty());
+    }
+}
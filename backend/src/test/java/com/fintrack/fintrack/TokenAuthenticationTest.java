@@ -0,0 +1,117 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.service.JwtService;
+import io.jsonwebtoken.Jwts;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Authenticates API calls from token claims. Hibernate statistics count how often a user
+ * row is read while doing so.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TokenAuthenticationTest extends ApiTestSupport {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private SecretKey signingKey;
+
+    @BeforeEach
+    void setUp() {
+        registerUser("token");
+    }
+
+    private String login() {
+        return login(email).getToken();
+    }
+
+    private HttpStatusCode call(HttpMethod method, String path, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(baseUrl + path, method, new HttpEntity<>(headers), String.class)
+                .getStatusCode();
+    }
+
+    @Test
+    void authenticatedRequests_DoNotLoadTheUserEachTime() {
+        // Arrange
+        String token = login();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertEquals(HttpStatus.OK, call(HttpMethod.GET, "/api/banks/", token));
+        }
+
+        // Assert: at most the one cache fill instead of a lookup per request
+        long userLoads = statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+        assertTrue(userLoads <= 1, "Loaded the user " + userLoads + " times");
+    }
+
+    @Test
+    void logoutAll_RevokesEveryTokenIssuedBefore() {
+        // Arrange
+        String laptop = login();
+        String phone = login();
+        assertEquals(HttpStatus.OK, call(HttpMethod.GET, "/api/banks/", phone));
+
+        // Act
+        HttpStatusCode logout = call(HttpMethod.POST, "/api/auth/logout-all", laptop);
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, logout);
+        assertEquals(HttpStatus.UNAUTHORIZED, call(HttpMethod.GET, "/api/banks/", laptop));
+        assertEquals(HttpStatus.UNAUTHORIZED, call(HttpMethod.GET, "/api/banks/", phone));
+        assertEquals(HttpStatus.OK, call(HttpMethod.GET, "/api/banks/", login()));
+    }
+
+    @Test
+    void tamperedToken_IsRejected() {
+        // Arrange
+        String token = login();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, call(HttpMethod.GET, "/api/banks/", tampered));
+    }
+
+    @Test
+    void verifiedToken_IsNotReusedOnceExpired() throws Exception {
+        // Arrange
+        String token = Jwts.builder()
+                .setSubject("42")
+                .claim("email", email)
+                .setExpiration(Date.from(Instant.now().plusSeconds(1)))
+                .signWith(signingKey)
+                .compact();
+        assertNotNull(jwtService.parseClaims(token));
+
+        // Act
+        Thread.sleep(1_500);
+
+        // Assert
+        assertNull(jwtService.parseClaims(token));
+    }
+}
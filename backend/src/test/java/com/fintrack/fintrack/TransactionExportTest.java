@@ -0,0 +1,94 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionExportTest extends ApiTestSupport {
+
+    private Long categoryId;
+    private Long bankAccountId;
+
+    @BeforeEach
+    void setUp() {
+        authToken = registerAndLoginUser("export");
+        categoryId = post("/api/categories/",
+                new CreateCategoryRequest("Coffee", "☕", CategoryColor.ORANGE), CategoryResponse.class).getId();
+        bankAccountId = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Main Account", "12345678"),
+                BankAccountResponse.class).getId();
+    }
+
+    private void createTransaction(LocalDate date, String description) {
+        createTransaction(date, TransactionType.EXPENSE, "3.50", description, categoryId, bankAccountId);
+    }
+
+    private ResponseEntity<String> export(String query) {
+        return restTemplate.exchange(baseUrl + "/api/transactions/export" + query, HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), String.class);
+    }
+
+    @Test
+    void exportCsv_StreamsFilteredRowsNewestFirst() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        createTransaction(today.minusDays(2), "Espresso");
+        createTransaction(today.minusDays(1), "Beans, \"single origin\"");
+        createTransaction(today.minusDays(10), "Too old");
+
+        // Act
+        ResponseEntity<String> response = export("?fromDate=" + today.minusDays(5));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentType().isCompatibleWith(MediaType.parseMediaType("text/csv")));
+        assertTrue(response.getHeaders().getContentDisposition().isAttachment());
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals("id,date,type,amount,description,category,account", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",EXPENSE,3.50,\"Beans, \"\"single origin\"\"\",Coffee,Main Account"));
+        assertTrue(lines.get(2).contains(",Espresso,"));
+    }
+
+    @Test
+    void exportNdjson_WritesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        createTransaction(LocalDate.now(), "Flat white");
+        createTransaction(LocalDate.now(), "Cortado");
+
+        // Act
+        ResponseEntity<String> response = export("?format=ndjson");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<String> lines = response.getBody().lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode first = new ObjectMapper().readTree(lines.get(0));
+        assertEquals("Cortado", first.get("description").asText());
+        assertEquals(0, new BigDecimal("3.50").compareTo(first.get("amount").decimalValue()));
+    }
+
+    @Test
+    void export_UnknownFormat_ReturnsBadRequest() {
+        assertEquals(HttpStatus.BAD_REQUEST, export("?format=xlsx").getStatusCode());
+    }
+}
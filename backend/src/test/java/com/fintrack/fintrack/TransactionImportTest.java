@@ -0,0 +1,165 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.CategoryColor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionImportTest extends ApiTestSupport {
+
+    @Value("${app.jobs.upload-dir:${java.io.tmpdir}}")
+    private Path uploadDir;
+
+    private Long bankAccountId;
+    private BigDecimal openingBalance;
+
+    @BeforeEach
+    void setUp() {
+        authToken = registerAndLoginUser("import");
+        post("/api/categories/", new CreateCategoryRequest("Coffee", "☕", CategoryColor.ORANGE),
+                CategoryResponse.class);
+        BankAccountResponse account = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Main Account", "12345678"),
+                BankAccountResponse.class);
+        bankAccountId = account.getId();
+        openingBalance = account.getBalance();
+    }
+
+    private JsonNode importAndAwait(String filename, String content) throws InterruptedException {
+        ResponseEntity<JsonNode> submitted = submitImport(filename, content);
+        assertEquals(HttpStatus.ACCEPTED, submitted.getStatusCode());
+        return awaitJob(submitted.getBody().get("jobId").asText());
+    }
+
+    private ResponseEntity<JsonNode> submitImport(String filename, String content) {
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        });
+        form.add("bankAccountId", bankAccountId.toString());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        headers.setBearerAuth(authToken);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+
+        return restTemplate.exchange(baseUrl + "/api/transactions/import",
+                HttpMethod.POST, new HttpEntity<>(form, headers), JsonNode.class);
+    }
+
+    private long storedUploads() throws IOException {
+        if (!Files.isDirectory(uploadDir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("fintrack-import-")).count();
+        }
+    }
+
+    private JsonNode listTransactions() {
+        return restTemplate.exchange(baseUrl + "/api/transactions/?size=50", HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), JsonNode.class).getBody();
+    }
+
+    @Test
+    void importCsv_WritesRowsAppliesBalanceAndReportsSkippedRows() throws Exception {
+        // Arrange
+        String csv = """
+                date,amount,description,type,category
+                2024-01-03,4.50,"Latte, oat milk",EXPENSE,coffee
+                2024-01-04,-20.00,Groceries,,
+                2024-01-05,1500.00,Salary,INCOME,
+                not-a-date,1.00,Broken,EXPENSE,
+                """;
+
+        // Act
+        JsonNode job = importAndAwait("statement.csv", csv);
+
+        // Assert
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertTrue(job.get("result").asText().startsWith("Imported 3 transactions, skipped 1"));
+        assertEquals("IMPORT", job.get("jobType").asText());
+
+        JsonNode transactions = listTransactions();
+        assertEquals(3, transactions.get("totalElements").asInt());
+        JsonNode latte = transactions.get("content").get(2);
+        assertEquals("Latte, oat milk", latte.get("description").asText());
+        assertEquals("Coffee", latte.get("category").asText());
+
+        assertEquals(0, openingBalance.add(new BigDecimal("1475.50")).compareTo(currentBalance()));
+    }
+
+    @Test
+    void importOfx_ParsesSgmlStatement() throws Exception {
+        // Arrange
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240210120000.000[-5:EST]<TRNAMT>-12.34<FITID>1<NAME>Book &amp; Co
+                </STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20240211<TRNAMT>100.00<FITID>2<MEMO>Refund
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        // Act
+        JsonNode job = importAndAwait("statement.ofx", ofx);
+
+        // Assert
+        assertEquals("COMPLETED", job.get("status").asText());
+        JsonNode content = listTransactions().get("content");
+        assertEquals(2, content.size());
+        assertEquals("Refund", content.get(0).get("description").asText());
+        assertEquals("INCOME", content.get(0).get("transactionType").asText());
+        assertEquals("Book & Co", content.get(1).get("description").asText());
+        assertEquals("EXPENSE", content.get(1).get("transactionType").asText());
+        assertEquals(0, openingBalance.add(new BigDecimal("87.66")).compareTo(currentBalance()));
+    }
+
+    @Test
+    void importIntoAnotherUsersAccount_IsNotFoundAndStoresNothing() throws Exception {
+        // Arrange
+        String ownerToken = authToken;
+        authToken = registerAndLoginUser("import");
+        long uploadsBefore = storedUploads();
+
+        // Act
+        ResponseEntity<JsonNode> response = submitImport("statement.csv", "date,amount\n2024-01-03,4.50\n");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(uploadsBefore, storedUploads());
+        authToken = ownerToken;
+        assertEquals(0, listTransactions().get("totalElements").asInt());
+        assertEquals(0, openingBalance.compareTo(currentBalance()));
+    }
+}
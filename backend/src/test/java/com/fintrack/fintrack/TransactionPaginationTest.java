@@ -0,0 +1,115 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionCursorPage;
+import com.fintrack.fintrack.dto.TransactionDTO.TransactionResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionPaginationTest extends ApiTestSupport {
+
+    private Long categoryId;
+    private Long bankAccountId;
+
+    @BeforeEach
+    void setUp() {
+        authToken = registerAndLoginUser("paging");
+        categoryId = post("/api/categories/",
+                new CreateCategoryRequest("Coffee", "☕", CategoryColor.ORANGE), CategoryResponse.class).getId();
+        bankAccountId = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Main Account", "12345678"),
+                BankAccountResponse.class).getId();
+    }
+
+    private void createTransaction(LocalDate date, String description) {
+        createTransaction(date, TransactionType.EXPENSE, "3.50", description, categoryId, bankAccountId);
+    }
+
+    private ResponseEntity<TransactionCursorPage> get(String pathAndQuery) {
+        return restTemplate.exchange(baseUrl + pathAndQuery, HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), TransactionCursorPage.class);
+    }
+
+    @Test
+    void getTransactions_WithCursor_WalksAllRowsInDateThenIdOrder() {
+        // Arrange - several rows share a date so the id tie-breaker matters
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 7; i++) {
+            createTransaction(today.minusDays(i / 3), "Latte " + i);
+        }
+
+        // Act
+        List<TransactionResponse> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (true) {
+            ResponseEntity<TransactionCursorPage> response = get("/api/transactions/?size=3&cursor=" + cursor);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            TransactionCursorPage page = response.getBody();
+            seen.addAll(page.getContent());
+            pages++;
+            if (!page.isHasNext()) {
+                assertNull(page.getNextCursor());
+                break;
+            }
+            cursor = page.getNextCursor();
+        }
+
+        // Assert
+        assertEquals(3, pages);
+        assertEquals(7, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionResponse prev = seen.get(i - 1);
+            TransactionResponse cur = seen.get(i);
+            assertTrue(prev.getDate().isAfter(cur.getDate())
+                    || (prev.getDate().equals(cur.getDate()) && prev.getId() > cur.getId()));
+        }
+    }
+
+    @Test
+    void searchTransactions_WithCursor_AppliesQueryAcrossPages() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        createTransaction(today, "Coffee beans");
+        createTransaction(today, "Rent");
+        createTransaction(today, "Coffee shop");
+
+        // Act
+        TransactionCursorPage first = get("/api/transactions/search?query=coffee&size=1&cursor=").getBody();
+        TransactionCursorPage second = get("/api/transactions/search?query=coffee&size=1&cursor="
+                + first.getNextCursor()).getBody();
+
+        // Assert
+        assertEquals("Coffee shop", first.getContent().get(0).getDescription());
+        assertTrue(first.isHasNext());
+        assertEquals("Coffee beans", second.getContent().get(0).getDescription());
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void getTransactions_MalformedCursor_ReturnsBadRequest() {
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + "/api/transactions/?cursor=not-a-cursor",
+                HttpMethod.GET, new HttpEntity<>(authHeaders()), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
@@ -0,0 +1,126 @@
+package com.fintrack.fintrack;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fintrack.fintrack.dto.bankAccountDTO.BankAccountResponse;
+import com.fintrack.fintrack.dto.bankAccountDTO.ConnectBankRequest;
+import com.fintrack.fintrack.dto.categoryDTO.CategoryResponse;
+import com.fintrack.fintrack.dto.categoryDTO.CreateCategoryRequest;
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.TransactionType;
+import com.fintrack.fintrack.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionSearchTest extends ApiTestSupport {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Long categoryId;
+    private Long bankAccountId;
+
+    @BeforeEach
+    void setUp() {
+        authToken = registerAndLoginUser("search");
+        categoryId = post("/api/categories/",
+                new CreateCategoryRequest("Coffee", "☕", CategoryColor.ORANGE), CategoryResponse.class).getId();
+        bankAccountId = post("/api/banks/",
+                new ConnectBankRequest("Test Bank", AccountType.CHECKING, "Main Account", "12345678"),
+                BankAccountResponse.class).getId();
+    }
+
+    private void createTransaction(LocalDate date, String description) {
+        createTransaction(date, TransactionType.EXPENSE, "3.50", description, categoryId, bankAccountId);
+    }
+
+    private List<String> searchDescriptions(String query) {
+        ResponseEntity<JsonNode> response = restTemplate.exchange(
+                baseUrl + "/api/transactions/search?orderBy=relevance&query=" + query, HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), JsonNode.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<String> descriptions = new ArrayList<>();
+        response.getBody().get("content").forEach(t -> descriptions.add(t.get("description").asText()));
+        return descriptions;
+    }
+
+    @Test
+    void searchByRelevance_RanksCloserMatchesFirst() {
+        // Arrange - the weaker match is newer, so date order alone would put it first
+        LocalDate today = LocalDate.now();
+        createTransaction(today.minusDays(2), "Starbucks coffee");
+        createTransaction(today.minusDays(1), "Coffee");
+        createTransaction(today, "Coffeehouse Berlin");
+        createTransaction(today, "Electricity bill");
+
+        // Act
+        List<String> results = searchDescriptions("coffee");
+
+        // Assert
+        assertEquals(3, results.size());
+        assertFalse(results.contains("Electricity bill"));
+        assertEquals("Coffee", results.get(0));
+        assertEquals("Coffeehouse Berlin", results.get(2));
+    }
+
+    @Test
+    void searchByRelevance_ToleratesTypos() {
+        // Arrange
+        createTransaction(LocalDate.now(), "Grocery store");
+        createTransaction(LocalDate.now(), "Gym membership");
+
+        // Act
+        List<String> results = searchDescriptions("grocey");
+
+        // Assert
+        assertEquals(List.of("Grocery store"), results);
+    }
+
+    @Test
+    void searchByRelevance_IncludesTransactionsAddedAfterFirstSearch() {
+        // Arrange
+        createTransaction(LocalDate.now(), "Bookshop");
+        assertEquals(List.of("Bookshop"), searchDescriptions("book"));
+
+        // Act
+        createTransaction(LocalDate.now(), "Notebook");
+        List<String> results = searchDescriptions("book");
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(results.contains("Notebook"));
+    }
+
+    @Test
+    void searchByRelevance_SkipsRankedRowsThatNoLongerExist() {
+        // Arrange: one match is deleted behind the index's back
+        createTransaction(LocalDate.now(), "Coffee");
+        createTransaction(LocalDate.now(), "Coffee beans");
+        assertEquals(2, searchDescriptions("coffee").size());
+        JsonNode transactions = restTemplate.exchange(baseUrl + "/api/transactions/", HttpMethod.GET,
+                new HttpEntity<>(authHeaders()), JsonNode.class).getBody();
+        for (JsonNode transaction : transactions.get("content")) {
+            if (transaction.get("description").asText().equals("Coffee beans")) {
+                transactionRepository.deleteById(transaction.get("id").asLong());
+            }
+        }
+
+        // Act
+        List<String> results = searchDescriptions("coffee");
+
+        // Assert
+        assertEquals(List.of("Coffee"), results);
+    }
+}
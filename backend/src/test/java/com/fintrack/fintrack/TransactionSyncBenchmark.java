@@ -0,0 +1,167 @@
+package com.fintrack.fintrack;
+
+import com.fintrack.fintrack.model.AccountType;
+import com.fintrack.fintrack.model.BankAccount;
+import com.fintrack.fintrack.model.Category;
+import com.fintrack.fintrack.model.CategoryColor;
+import com.fintrack.fintrack.model.User;
+import com.fintrack.fintrack.repository.BankAccountRepository;
+import com.fintrack.fintrack.repository.CategoryRepository;
+import com.fintrack.fintrack.repository.UserRepository;
+import com.fintrack.fintrack.service.TransactionSyncService;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second stored by a 1,000-transaction sync. The application runs against H2 as
+ * in the tests, and Gemini is replaced by a local server streaming a fixed payload in
+ * fragments, so the score covers parsing, batched inserts, rollups and the balance update.
+ * Each invocation syncs a fresh account that was last synced 30 days ago.
+ *
+ * <p>Not part of the test run. After {@code mvn test-compile}, run {@link #main} with the
+ * test classpath and the environment the tests need, e.g.
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.fintrack.fintrack.TransactionSyncBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TransactionSyncBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionSyncBenchmark {
+    static final int ROWS = 1_000;
+    private static final int STREAM_CHUNK = 2_000;
+
+    private HttpServer upstream;
+    private ConfigurableApplicationContext context;
+    private TransactionSyncService transactionSyncService;
+    private BankAccountRepository bankAccountRepository;
+    private User user;
+    private Long accountId;
+
+    @Setup
+    public void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.start();
+
+        // One chunk covers the whole month, so the payload is fetched exactly once per sync
+        context = new SpringApplicationBuilder(FintrackApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--app.sync.chunk-days=30",
+                        "--gemini.api.key=bench",
+                        "--gemini.api.url=http://localhost:" + upstream.getAddress().getPort() + "/stream?key=",
+                        "--gemini.rate-limit.requests=1000000");
+        transactionSyncService = context.getBean(TransactionSyncService.class);
+        bankAccountRepository = context.getBean(BankAccountRepository.class);
+
+        user = new User();
+        user.setName("Benchmark User");
+        user.setEmail("bench" + System.nanoTime() + "@example.com");
+        user.setPassword("password123");
+        user = context.getBean(UserRepository.class).save(user);
+
+        Category category = new Category();
+        category.setName("Other");
+        category.setIcon("📦");
+        category.setColor(CategoryColor.BLUE);
+        category.setCustom(true);
+        category.setUser(user);
+        category = context.getBean(CategoryRepository.class).save(category);
+
+        byte[] events = events(payload(category.getId()));
+        upstream.createContext("/stream", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                OutputStream out = exchange.getResponseBody();
+                out.write(events);
+                out.flush();
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        upstream.stop(0);
+    }
+
+    @Setup(Level.Invocation)
+    public void newAccount() {
+        BankAccount account = new BankAccount();
+        account.setBankName("Bench Bank");
+        account.setNickName("Bench Account");
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountNum("12345678");
+        account.setBalance(new BigDecimal("1000000.00"));
+        account.setLastSync(LocalDateTime.now().minusDays(30));
+        account.setUser(user);
+        accountId = bankAccountRepository.save(account).getId();
+    }
+
+    @Benchmark
+    public int sync() {
+        int synced = transactionSyncService.syncTransactions(accountId, user).size();
+        if (synced != ROWS) {
+            throw new IllegalStateException("Synced " + synced + " of " + ROWS + " transactions");
+        }
+        return synced;
+    }
+
+    private static String payload(Long categoryId) {
+        StringBuilder json = new StringBuilder("[");
+        LocalDate start = LocalDate.now().minusDays(30);
+        for (int i = 0; i < ROWS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"amount\":").append(1 + i % 50).append(".25")
+                    .append(",\"date\":\"").append(start.plusDays(i % 30)).append('"')
+                    .append(",\"description\":\"Benchmark row ").append(i).append('"')
+                    .append(",\"type\":\"").append(i % 10 == 0 ? "INCOME" : "EXPENSE").append('"')
+                    .append(",\"categoryId\":").append(categoryId).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * The payload as server-sent events of a few kilobytes each, the way the streaming
+     * endpoint delivers it.
+     */
+    private static byte[] events(String payload) {
+        StringBuilder events = new StringBuilder();
+        for (int start = 0; start < payload.length(); start += STREAM_CHUNK) {
+            String text = payload.substring(start, Math.min(payload.length(), start + STREAM_CHUNK));
+            String escaped = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            events.append("data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"")
+                    .append(escaped).append("\"}]}}]}\r\n\r\n");
+        }
+        return events.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionSyncBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -26,7 +26,8 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
   const [authState, setAuthState] = useState<AuthState>({
     isAuthenticated: false,
     user: null,
-    token: null
+    token: null,
+    refreshToken: null
   });
 
   useEffect(() => {
@@ -51,12 +52,13 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
         password
       });
       
-      const { token, user } = response.data;
+      const { token, refreshToken, user } = response.data;
       
       const authData: AuthState = {
         isAuthenticated: true,
         user,
-        token
+        token,
+        refreshToken
       };
       
       setAuthState(authData);
@@ -86,10 +88,21 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
   }, [login]);
 
   const logout = useCallback(() => {
+    // Ends the session on the server too, so its tokens stop working straight away. The
+    // stored refresh token is the latest one; the API client rotates it on refresh.
+    try {
+      const { refreshToken } = JSON.parse(localStorage.getItem('finance-auth') || '{}');
+      if (refreshToken) {
+        apiClient.post('/api/auth/logout', { refreshToken }).catch(() => undefined);
+      }
+    } catch {
+      // Invalid auth data, nothing to end
+    }
     setAuthState({
       isAuthenticated: false,
       user: null,
-      token: null
+      token: null,
+      refreshToken: null
     });
     localStorage.removeItem('finance-auth');
   }, []);
@@ -26,9 +26,11 @@ export const useConnectBank = () => {
     });
 };
 
-// Helper to check job status
-export const checkJobStatus = async (jobId: string) => {
-    const response = await apiClient.get<JobRequest>(`/api/jobs/${jobId}`);
+// Helper to wait for a job's status to move on from the one last seen (long-poll)
+export const checkJobStatus = async (jobId: string, knownStatus?: JobRequest['status']) => {
+    const response = await apiClient.get<JobRequest>(`/api/jobs/${jobId}`, {
+        params: { waitSeconds: 25, status: knownStatus },
+    });
     return response.data;
 };
 
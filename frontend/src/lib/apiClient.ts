@@ -1,4 +1,5 @@
 import axios, { AxiosError, InternalAxiosRequestConfig } from 'axios';
+import { AuthResponse } from '../types';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://k8s-applicat-appingre-60cd718657-560319979.ap-southeast-1.elb.amazonaws.com';
 
@@ -28,10 +29,52 @@ apiClient.interceptors.request.use(
     (error) => Promise.reject(error)
 );
 
+let refreshing: Promise<string | null> | null = null;
+
+// Swaps the stored refresh token for new tokens. Each refresh token works only once, so
+// requests failing together share a single attempt.
+const refreshTokens = (): Promise<string | null> => {
+    if (!refreshing) {
+        refreshing = (async () => {
+            try {
+                const authData = JSON.parse(localStorage.getItem('finance-auth') || 'null');
+                if (!authData?.refreshToken) {
+                    return null;
+                }
+                const { data } = await axios.post<AuthResponse>(`${API_BASE_URL}/api/auth/refresh`, {
+                    refreshToken: authData.refreshToken,
+                });
+                localStorage.setItem('finance-auth', JSON.stringify({
+                    ...authData,
+                    user: data.user,
+                    token: data.token,
+                    refreshToken: data.refreshToken,
+                }));
+                return data.token;
+            } catch {
+                return null;
+            } finally {
+                refreshing = null;
+            }
+        })();
+    }
+    return refreshing;
+};
+
 // Response interceptor for error handling
 apiClient.interceptors.response.use(
     (response) => response,
-    (error: AxiosError) => {
+    async (error: AxiosError) => {
+        const request = error.config as (InternalAxiosRequestConfig & { retried?: boolean }) | undefined;
+        if (error.response?.status === 401 && request && !request.retried && !request.url?.startsWith('/api/auth/')) {
+            // Access token expired: get a new one and replay the request once
+            request.retried = true;
+            const token = await refreshTokens();
+            if (token) {
+                request.headers.Authorization = `Bearer ${token}`;
+                return apiClient(request);
+            }
+        }
         if (error.response?.status === 401) {
             // Token expired or invalid, clear auth data
             localStorage.removeItem('finance-auth');
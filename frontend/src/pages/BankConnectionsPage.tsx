@@ -7,8 +7,9 @@ import { Input } from '../components/ui/Input';
 import { Modal } from '../components/ui/Modal';
 import { LoadingSpinner } from '../components/ui/LoadingSpinner';
 import { formatCurrency, formatDateTime } from '../utils/formatters';
-import { BankAccount, ConnectBankRequest, AccountType } from '../types';
+import { BankAccount, ConnectBankRequest, AccountType, JobRequest } from '../types';
 import { useQueryClient } from '@tanstack/react-query';
+import { isAxiosError } from 'axios';
 import { useBankAccounts, useConnectBank, useInitiateSyncBank, checkJobStatus } from '../hooks/useBankAccounts';
 
 const accountTypes: { value: AccountType; label: string }[] = [
@@ -49,48 +50,57 @@ export const BankConnectionsPage: React.FC = () => {
   const initiateSyncMutation = useInitiateSyncBank();
   const queryClient = useQueryClient();
 
-  // Poll for active jobs
+  // Follow active jobs; each request returns as soon as the job's status changes
   useEffect(() => {
     const bankIds = Object.keys(activeJobs).map(Number);
     if (bankIds.length === 0) return;
 
-    const intervalId = setInterval(async () => {
-      for (const bankId of bankIds) {
-        const jobId = activeJobs[bankId];
+    let cancelled = false;
+
+    const finish = (bankId: number) => {
+      setActiveJobs(prev => {
+        const next = { ...prev };
+        delete next[bankId];
+        return next;
+      });
+    };
+
+    const follow = async (bankId: number, jobId: string) => {
+      let knownStatus: JobRequest['status'] | undefined;
+      while (!cancelled) {
         try {
-          const job = await checkJobStatus(jobId);
-          
+          const job = await checkJobStatus(jobId, knownStatus);
+          if (cancelled) return;
+
           if (job.status === 'COMPLETED') {
             toast.success(job.result || 'Sync completed successfully');
-            
-            // Remove from active jobs
-            setActiveJobs(prev => {
-              const next = { ...prev };
-              delete next[bankId];
-              return next;
-            });
-            
+            finish(bankId);
+
             // Refresh data
             queryClient.invalidateQueries({ queryKey: ['bankAccounts'] });
             queryClient.invalidateQueries({ queryKey: ['transactions'] });
             queryClient.invalidateQueries({ queryKey: ['dashboard'] });
+            return;
           } else if (job.status === 'FAILED') {
             toast.error(job.result || 'Sync failed');
-            
-            // Remove from active jobs
-            setActiveJobs(prev => {
-              const next = { ...prev };
-              delete next[bankId];
-              return next;
-            });
+            finish(bankId);
+            return;
           }
+          knownStatus = job.status;
         } catch (error) {
           console.error('Error polling job status:', error);
+          await new Promise(resolve => setTimeout(resolve, 2000));
         }
       }
-    }, 2000);
+    };
+
+    for (const bankId of bankIds) {
+      follow(bankId, activeJobs[bankId]);
+    }
 
-    return () => clearInterval(intervalId);
+    return () => {
+      cancelled = true;
+    };
   }, [activeJobs, queryClient]);
 
   const validateForm = () => {
@@ -169,7 +179,12 @@ export const BankConnectionsPage: React.FC = () => {
       console.error('Error initiating sync:', error);
       // Clear key on error to allow retry
       delete pendingSyncKeys.current[accountId];
-      toast.error('Failed to start sync');
+      if (isAxiosError(error) && error.response?.status === 429) {
+        const retryAfter = error.response.headers['retry-after'];
+        toast.warn(`Sync is busy right now, try again in ${retryAfter ?? 'a few'} seconds`);
+      } else {
+        toast.error('Failed to start sync');
+      }
     }
   };
 